@@ -48,4 +48,4 @@ elif [ -n "$DATABASE_URL" ]; then
 fi
 
 # Execute the application
-exec java -jar app.jar
+exec java $JAVA_OPTS -jar app.jar
@@ -0,0 +1,83 @@
+package com.assignment.sweet.cache;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent map whose entries carry an expiry time and whose size is capped.
+ * When a put finds the map full, expired entries are dropped first; if it is
+ * still full, an arbitrary tenth is shed. Cheap enough for caches that only
+ * need a bound, not LRU order.
+ *
+ * Expired entries stay readable through {@link #getEntry} until they are
+ * overwritten or evicted, for callers that can fall back to stale values.
+ */
+public class BoundedTtlMap<K, V> {
+
+    private final int maxEntries;
+    private final Clock clock;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public BoundedTtlMap(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the live value for {@code key}, or {@code null} if absent or
+     *         expired (an expired entry is removed)
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= clock.millis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * @return the entry for {@code key} even if it has expired, or {@code null}
+     */
+    public Entry<V> getEntry(K key) {
+        return entries.get(key);
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evict(clock.millis());
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    // Drop expired entries first; if still full, shed an arbitrary tenth
+    private void evict(long now) {
+        entries.values().removeIf(e -> e.expiresAtMillis() <= now);
+        int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (toRemove-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    public record Entry<V>(V value, long expiresAtMillis) {
+
+        public boolean isLive(long nowMillis) {
+            return expiresAtMillis > nowMillis;
+        }
+    }
+}
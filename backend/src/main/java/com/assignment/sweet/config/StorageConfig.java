@@ -0,0 +1,44 @@
+package com.assignment.sweet.config;
+
+import com.assignment.sweet.http.OutboundHttpClient;
+import com.assignment.sweet.storage.BlobStorage;
+import com.assignment.sweet.storage.FileSystemBlobStorage;
+import com.assignment.sweet.storage.S3BlobStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Selects the {@link BlobStorage} for uploads via {@code storage.type}
+ * ({@code filesystem} by default, or {@code s3}).
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "filesystem", matchIfMissing = true)
+    public BlobStorage fileSystemBlobStorage(
+            @Value("${storage.filesystem.root:uploads}") String root,
+            @Value("${storage.public-base-url:http://localhost:8080/uploads/}") String publicBaseUrl) {
+        return new FileSystemBlobStorage(Paths.get(root), publicBaseUrl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+    public BlobStorage s3BlobStorage(OutboundHttpClient outboundHttpClient,
+            @Value("${storage.s3.endpoint}") String endpoint,
+            @Value("${storage.s3.bucket}") String bucket,
+            @Value("${storage.s3.region:us-east-1}") String region,
+            @Value("${storage.s3.access-key}") String accessKey,
+            @Value("${storage.s3.secret-key}") String secretKey,
+            @Value("${storage.s3.request-timeout:30s}") Duration requestTimeout,
+            @Value("${storage.public-base-url}") String publicBaseUrl) {
+        return new S3BlobStorage(outboundHttpClient, URI.create(endpoint), bucket, region, accessKey, secretKey,
+                publicBaseUrl, requestTimeout);
+    }
+}
@@ -1,19 +1,70 @@
 package com.assignment.sweet.config;
 
+import com.assignment.sweet.storage.BlobStorage;
+import com.assignment.sweet.storage.FileSystemBlobStorage;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.nio.file.Paths;
+import java.io.IOException;
+import java.time.Duration;
 
+/**
+ * Serves {@code /uploads/**} straight from the uploads directory when
+ * {@link FileSystemBlobStorage} is in use. Range requests, Last-Modified and
+ * ETag revalidation are handled by Spring's resource handler; resolved
+ * resources are cached so repeat hits skip the filesystem lookup. Security is
+ * bypassed for this path (see {@link SecurityConfig#webSecurityCustomizer()}).
+ */
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    // "<sha256>[-variant].<ext>" as written by ImageService; these bytes never change
+    static final String CONTENT_ADDRESSED_FILE = "{file:[0-9a-f]{64}(?:-(?:thumb|card|detail))?(?:\\.[a-z0-9]{1,5})?}";
+
+    // Optional so MVC slice tests don't need a storage bean
+    private final ObjectProvider<BlobStorage> blobStorage;
+
+    public WebMvcConfig(ObjectProvider<BlobStorage> blobStorage) {
+        this.blobStorage = blobStorage;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String uploadPath = Paths.get("uploads").toAbsolutePath().toUri().toString();
+        if (!(blobStorage.getIfAvailable() instanceof FileSystemBlobStorage fileSystem)) {
+            // Objects are served by the object store / CDN, not by this JVM
+            return;
+        }
+        String uploadPath = fileSystem.getRoot().toUri().toString();
 
+        registry.addResourceHandler("/uploads/" + CONTENT_ADDRESSED_FILE)
+                .addResourceLocations(uploadPath)
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .setEtagGenerator(WebMvcConfig::etag)
+                .resourceChain(true);
+
+        // Older uploads were stored under random names and may be overwritten
         registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(uploadPath);
+                .addResourceLocations(uploadPath)
+                .setCacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .setEtagGenerator(WebMvcConfig::etag)
+                .resourceChain(true);
+    }
+
+    // Hash-named files use the hash; others the nginx-style mtime-size pair
+    static String etag(Resource resource) {
+        String name = resource.getFilename();
+        if (name != null && name.length() >= 64 && name.substring(0, 64).matches("[0-9a-f]{64}")) {
+            int dot = name.lastIndexOf('.');
+            return dot > 0 ? name.substring(0, dot) : name;
+        }
+        try {
+            return Long.toHexString(resource.lastModified()) + "-" + Long.toHexString(resource.contentLength());
+        } catch (IOException e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.assignment.sweet.controller;
+
+import com.assignment.sweet.dto.AdminStats;
+import com.assignment.sweet.http.OutboundHttpClient;
+import com.assignment.sweet.service.AdminStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminStatsController {
+
+    private final AdminStatsService adminStatsService;
+    private final OutboundHttpClient outboundHttpClient;
+
+    public AdminStatsController(AdminStatsService adminStatsService, OutboundHttpClient outboundHttpClient) {
+        this.adminStatsService = adminStatsService;
+        this.outboundHttpClient = outboundHttpClient;
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AdminStats> getStats() {
+        return ResponseEntity.ok(adminStatsService.getStats());
+    }
+
+    // Per upstream host: circuit state, in-flight calls and failure counters
+    @GetMapping("/outbound/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<OutboundHttpClient.HostStats>> getOutboundStats() {
+        return ResponseEntity.ok(outboundHttpClient.stats());
+    }
+}
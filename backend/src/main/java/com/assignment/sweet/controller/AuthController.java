@@ -8,11 +8,14 @@ import com.svix.exceptions.WebhookVerificationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.http.HttpHeaders;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @RestController
@@ -90,22 +93,36 @@ public class AuthController {
         }
     }
 
+    // Login and register complete asynchronously so BCrypt never parks a servlet thread
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody com.assignment.sweet.dto.RegisterRequest request) {
-        try {
-            return ResponseEntity.ok(authService.register(request));
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody com.assignment.sweet.dto.RegisterRequest request) {
+        return authService.register(request)
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(AuthController::toErrorResponse);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody com.assignment.sweet.dto.LoginRequest request) {
-        try {
-            String token = authService.login(request);
-            return ResponseEntity.ok(java.util.Map.of("token", token));
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody com.assignment.sweet.dto.LoginRequest request) {
+        return authService.login(request)
+                .<ResponseEntity<?>>thenApply(token -> ResponseEntity.ok(java.util.Map.of("token", token)))
+                .exceptionally(AuthController::toErrorResponse);
+    }
+
+    private static ResponseEntity<?> toErrorResponse(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof com.assignment.sweet.exception.TooManyRequestsException tooMany) {
+            // Rendered as 429 by GlobalExceptionHandler
+            throw tooMany;
+        }
+        if (cause instanceof RuntimeException) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", String.valueOf(cause.getMessage())));
         }
+        throw new CompletionException(cause);
+    }
+
+    @GetMapping("/hashing/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<com.assignment.sweet.service.PasswordHashingService.Stats> getHashingStats() {
+        return ResponseEntity.ok(authService.getHashingStats());
     }
 }
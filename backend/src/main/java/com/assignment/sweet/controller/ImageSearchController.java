@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/images")
@@ -22,7 +23,14 @@ public class ImageSearchController {
 
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<String>> searchImages(@RequestParam String query) {
-        return ResponseEntity.ok(imageSearchService.searchImages(query));
+    public CompletableFuture<ResponseEntity<List<String>>> searchImages(@RequestParam String query) {
+        // Async: the servlet thread is released while Unsplash is called
+        return imageSearchService.searchImagesAsync(query).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/search/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImageSearchService.Stats> getSearchStats() {
+        return ResponseEntity.ok(imageSearchService.stats());
     }
 }
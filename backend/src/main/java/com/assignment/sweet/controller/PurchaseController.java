@@ -1,37 +1,50 @@
 package com.assignment.sweet.controller;
 
-import com.assignment.sweet.model.Purchase;
-import com.assignment.sweet.repository.PurchaseRepository;
+import com.assignment.sweet.dto.PurchasePageResponse;
+import com.assignment.sweet.dto.PurchaseSummary;
+import com.assignment.sweet.service.PurchaseHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/purchases")
 public class PurchaseController {
 
-    private final PurchaseRepository purchaseRepository;
+    private final PurchaseHistoryService purchaseHistoryService;
 
-    public PurchaseController(PurchaseRepository purchaseRepository) {
-        this.purchaseRepository = purchaseRepository;
+    public PurchaseController(PurchaseHistoryService purchaseHistoryService) {
+        this.purchaseHistoryService = purchaseHistoryService;
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<Purchase>> getMyPurchases(Authentication authentication) {
-        String email = authentication.getName();
-        System.out.println("DEBUG: Fetching purchases for user: " + email);
-        List<Purchase> purchases = purchaseRepository.findByCustomerEmailOrderByCreatedDateDesc(email);
-        System.out.println("DEBUG: Found " + purchases.size() + " purchases for " + email);
-        return ResponseEntity.ok(purchases);
+    public ResponseEntity<PurchasePageResponse> getMyPurchases(Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(purchaseHistoryService.getCustomerHistory(authentication.getName(), cursor, size));
+    }
+
+    @GetMapping("/my/summary")
+    public ResponseEntity<PurchaseSummary> getMyPurchaseSummary(Authentication authentication) {
+        return ResponseEntity.ok(purchaseHistoryService.getCustomerSummary(authentication.getName()));
     }
 
     @GetMapping("/all")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Purchase>> getAllPurchases() {
-        return ResponseEntity.ok(purchaseRepository.findAll());
+    public ResponseEntity<PurchasePageResponse> getAllPurchases(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long sweetId,
+            @RequestParam(required = false) String customerEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(
+                purchaseHistoryService.getAllHistory(from, to, sweetId, customerEmail, cursor, size));
     }
 }
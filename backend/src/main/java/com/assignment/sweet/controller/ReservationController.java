@@ -0,0 +1,38 @@
+package com.assignment.sweet.controller;
+
+import com.assignment.sweet.dto.ReservationRequest;
+import com.assignment.sweet.dto.ReservationResponse;
+import com.assignment.sweet.model.Purchase;
+import com.assignment.sweet.service.ReservationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ReservationResponse> reserve(@RequestBody ReservationRequest request,
+            Authentication authentication) {
+        return ResponseEntity.ok(
+                reservationService.reserve(request.getSweetId(), request.getQuantity(), authentication.getName()));
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<Purchase> confirm(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(reservationService.confirm(id, authentication.getName()));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable Long id, Authentication authentication) {
+        reservationService.cancel(id, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
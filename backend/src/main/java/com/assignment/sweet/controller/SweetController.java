@@ -1,26 +1,83 @@
 package com.assignment.sweet.controller;
 
+import com.assignment.sweet.dto.SweetPageResponse;
+import com.assignment.sweet.dto.SweetSortOrder;
 import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.service.CatalogCache;
+import com.assignment.sweet.service.CatalogSnapshotService;
 import com.assignment.sweet.service.SweetService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.math.BigDecimal;
 
 @RestController
 @RequestMapping("/api/sweets")
 public class SweetController {
 
     private final SweetService sweetService;
+    private final CatalogSnapshotService catalogSnapshotService;
 
-    public SweetController(SweetService sweetService) {
+    public SweetController(SweetService sweetService, CatalogSnapshotService catalogSnapshotService) {
         this.sweetService = sweetService;
+        this.catalogSnapshotService = catalogSnapshotService;
     }
 
+    /**
+     * Full catalog, served from a pre-serialized snapshot. Clients revalidate
+     * with If-None-Match and get a bodiless 304 while nothing has changed.
+     */
     @GetMapping
-    public ResponseEntity<List<Sweet>> getAllSweets() {
-        return ResponseEntity.ok(sweetService.getAllSweets());
+    public ResponseEntity<byte[]> getAllSweets(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot();
+        CacheControl cacheControl = CacheControl.noCache();
+
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (snapshot.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    /**
+     * Paginated, filterable catalog. Pass the returned {@code nextCursor} back as
+     * {@code cursor} to fetch the following page.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SweetPageResponse> searchSweets(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "NAME_ASC") SweetSortOrder sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(sweetService.searchSweets(name, category, minPrice, maxPrice, sort, cursor, size));
+    }
+
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CatalogCache.Stats> getCatalogCacheStats() {
+        return ResponseEntity.ok(sweetService.getCatalogCacheStats());
     }
 
     @PostMapping(consumes = { "multipart/form-data" })
@@ -40,6 +97,17 @@ public class SweetController {
         return ResponseEntity.ok(sweetService.purchaseSweet(id, qty, email));
     }
 
+    /**
+     * Buys a whole cart in one request. Always 200 when the cart itself is valid;
+     * check each line's {@code purchased} flag for the outcome.
+     */
+    @PostMapping("/checkout")
+    public ResponseEntity<com.assignment.sweet.dto.CheckoutResponse> checkout(
+            @RequestBody com.assignment.sweet.dto.CheckoutRequest request,
+            org.springframework.security.core.Authentication authentication) {
+        return ResponseEntity.ok(sweetService.checkout(request.getItems(), authentication.getName()));
+    }
+
     @PostMapping("/{id}/restock")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Sweet> restockSweet(@PathVariable Long id, @RequestBody Integer quantity) {
@@ -0,0 +1,21 @@
+package com.assignment.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AdminStats {
+    private long totalSweets;
+    private BigDecimal inventoryValue;
+    private long totalSales;
+    private long unitsSold;
+    private BigDecimal revenue;
+    private long lowStockCount; // 0 < quantity < lowStockThreshold
+    private long outOfStockCount;
+    private int lowStockThreshold;
+}
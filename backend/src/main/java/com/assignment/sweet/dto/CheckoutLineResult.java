@@ -0,0 +1,23 @@
+package com.assignment.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of one cart line: either purchased (with name and price charged) or
+ * not, with the reason in {@code error}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutLineResult {
+    private Long sweetId;
+    private Integer quantity;
+    private boolean purchased;
+    private String sweetName;
+    private BigDecimal totalPrice;
+    private String error;
+}
@@ -0,0 +1,18 @@
+package com.assignment.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutResponse {
+    // One entry per request line, in request order
+    private List<CheckoutLineResult> lines;
+    private int purchasedLines;
+    private BigDecimal totalPrice;
+}
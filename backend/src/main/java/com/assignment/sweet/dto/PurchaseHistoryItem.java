@@ -0,0 +1,22 @@
+package com.assignment.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseHistoryItem {
+    private Long id;
+    private Long sweetId;
+    private String sweetName;
+    private Integer quantity;
+    private BigDecimal pricePerUnit;
+    private BigDecimal totalPrice;
+    private String customerEmail;
+    private LocalDateTime createdDate;
+}
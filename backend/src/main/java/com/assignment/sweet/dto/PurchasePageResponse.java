@@ -0,0 +1,16 @@
+package com.assignment.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchasePageResponse {
+    private List<PurchaseHistoryItem> items;
+    private String nextCursor; // Opaque; pass back as ?cursor= to fetch the next page
+    private boolean hasMore;
+}
@@ -0,0 +1,16 @@
+package com.assignment.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseSummary {
+    private long purchaseCount;
+    private long itemCount;
+    private BigDecimal totalSpent;
+}
@@ -0,0 +1,18 @@
+package com.assignment.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationResponse {
+    private Long id;
+    private Long sweetId;
+    private String sweetName;
+    private Integer quantity;
+    private Instant expiresAt;
+}
@@ -0,0 +1,17 @@
+package com.assignment.sweet.dto;
+
+import com.assignment.sweet.model.Sweet;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SweetPageResponse {
+    private List<Sweet> items;
+    private String nextCursor; // Opaque; pass back as ?cursor= to fetch the next page
+    private boolean hasMore;
+}
@@ -0,0 +1,12 @@
+package com.assignment.sweet.dto;
+
+/**
+ * Sort orders supported by the paginated catalog endpoint. Every order has a
+ * unique tie-breaker on id so keyset cursors are stable.
+ */
+public enum SweetSortOrder {
+    NAME_ASC,
+    PRICE_ASC,
+    PRICE_DESC,
+    NEWEST
+}
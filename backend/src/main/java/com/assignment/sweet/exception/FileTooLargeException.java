@@ -0,0 +1,11 @@
+package com.assignment.sweet.exception;
+
+/**
+ * Thrown when an upload exceeds the configured size limit. Mapped to HTTP 413.
+ */
+public class FileTooLargeException extends RuntimeException {
+
+    public FileTooLargeException(long maxBytes) {
+        super("File exceeds the maximum upload size of " + maxBytes + " bytes");
+    }
+}
@@ -0,0 +1,12 @@
+package com.assignment.sweet.exception;
+
+/**
+ * Thrown when a reservation is confirmed but its units are no longer reserved
+ * (e.g. already returned to stock). The units are not the caller's to release.
+ */
+public class ReservationNotHeldException extends RuntimeException {
+
+    public ReservationNotHeldException() {
+        super("Reservation no longer held");
+    }
+}
@@ -0,0 +1,21 @@
+package com.assignment.sweet.exception;
+
+import com.assignment.sweet.model.Sweet;
+
+/**
+ * Thrown when an update was based on an outdated version of a sweet. Mapped to
+ * HTTP 409 with the current state, so the client can re-apply its change.
+ */
+public class SweetConflictException extends RuntimeException {
+
+    private final Sweet current;
+
+    public SweetConflictException(Sweet current) {
+        super("Sweet was modified by someone else; reload and try again");
+        this.current = current;
+    }
+
+    public Sweet getCurrent() {
+        return current;
+    }
+}
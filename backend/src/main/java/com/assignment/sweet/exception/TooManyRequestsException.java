@@ -0,0 +1,19 @@
+package com.assignment.sweet.exception;
+
+/**
+ * Thrown when a bounded resource (e.g. the password hashing pool) is
+ * saturated. Mapped to HTTP 429 so clients back off instead of queueing.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
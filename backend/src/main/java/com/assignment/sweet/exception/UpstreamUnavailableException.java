@@ -0,0 +1,19 @@
+package com.assignment.sweet.exception;
+
+/**
+ * Thrown without calling out when an upstream host's circuit is open or its
+ * concurrency limit is reached. Mapped to HTTP 503.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public UpstreamUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,227 @@
+package com.assignment.sweet.http;
+
+import com.assignment.sweet.exception.UpstreamUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared client for calls to third-party services (Unsplash, Clerk JWKS,
+ * S3-compatible object storage).
+ *
+ * One JDK {@link HttpClient} is reused for every call, so keep-alive
+ * connections (and their TLS sessions) are pooled per host instead of being
+ * set up per request. Calls are non-blocking: {@link #sendAsync} completes
+ * on the client's own threads, so a slow upstream never holds a servlet
+ * thread.
+ *
+ * Per host, at most {@code http.outbound.max-concurrent-per-host} calls are
+ * in flight; beyond that calls fail fast. After
+ * {@code http.outbound.circuit.failure-threshold} consecutive failures
+ * (I/O errors, timeouts, 5xx) the host's circuit opens and calls fail fast
+ * with {@link UpstreamUnavailableException} for
+ * {@code http.outbound.circuit.open-duration}; then a single probe call
+ * decides whether it closes again.
+ */
+@Slf4j
+@Component
+public class OutboundHttpClient {
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int maxConcurrentPerHost;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+    @org.springframework.beans.factory.annotation.Autowired
+    public OutboundHttpClient(@Value("${http.outbound.connect-timeout:3s}") Duration connectTimeout,
+            @Value("${http.outbound.request-timeout:10s}") Duration requestTimeout,
+            @Value("${http.outbound.max-concurrent-per-host:16}") int maxConcurrentPerHost,
+            @Value("${http.outbound.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${http.outbound.circuit.open-duration:30s}") Duration openDuration) {
+        this(HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build(), requestTimeout, maxConcurrentPerHost, failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    OutboundHttpClient(HttpClient client, Duration requestTimeout, int maxConcurrentPerHost, int failureThreshold,
+            Duration openDuration, Clock clock) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Sends {@code request} without blocking the caller. Fails with
+     * {@link UpstreamUnavailableException} when the host's circuit is open or
+     * it already has the maximum number of calls in flight. Requests without
+     * an explicit timeout get {@code http.outbound.request-timeout}.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+            HttpResponse.BodyHandler<T> handler) {
+        Host host = hosts.computeIfAbsent(hostKey(request.uri()), key -> new Host(key, maxConcurrentPerHost));
+        boolean probe;
+        try {
+            probe = host.admit(clock.millis());
+        } catch (UpstreamUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!host.permits.tryAcquire()) {
+            host.rejected.incrementAndGet();
+            if (probe) {
+                host.probing.set(false);
+            }
+            return CompletableFuture.failedFuture(new UpstreamUnavailableException(
+                    "Too many concurrent calls to " + host.key, 1));
+        }
+
+        HttpRequest timed = request.timeout().isPresent() ? request
+                : HttpRequest.newBuilder(request, (name, value) -> true).timeout(requestTimeout).build();
+        host.requests.incrementAndGet();
+        CompletableFuture<HttpResponse<T>> call;
+        try {
+            call = client.sendAsync(timed, handler);
+        } catch (RuntimeException e) {
+            host.permits.release();
+            host.onFailure(clock.millis(), probe);
+            return CompletableFuture.failedFuture(e);
+        }
+        return call.whenComplete((response, error) -> {
+            host.permits.release();
+            if (error != null || response.statusCode() >= 500) {
+                host.onFailure(clock.millis(), probe);
+            } else {
+                host.onSuccess(probe);
+            }
+        });
+    }
+
+    /**
+     * Blocking variant for callers that are already off the request path (or
+     * whose API is synchronous, such as a {@code JwkProvider}).
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return sendAsync(request, handler).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted calling " + request.uri().getHost(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ce ? ce.getCause() : e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Call to " + request.uri().getHost() + " failed", cause);
+        }
+    }
+
+    public List<HostStats> stats() {
+        long now = clock.millis();
+        return hosts.values().stream()
+                .map(h -> new HostStats(h.key, h.state(now), maxConcurrentPerHost - h.permits.availablePermits(),
+                        h.requests.get(), h.failures.get(), h.rejected.get(), h.shortCircuited.get()))
+                .sorted((a, b) -> a.host().compareTo(b.host()))
+                .toList();
+    }
+
+    private static String hostKey(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+
+    private final class Host {
+        final String key;
+        final Semaphore permits;
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        final AtomicBoolean probing = new AtomicBoolean();
+        volatile long openUntilMillis;
+
+        final AtomicLong requests = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong shortCircuited = new AtomicLong();
+
+        Host(String key, int maxConcurrent) {
+            this.key = key;
+            this.permits = new Semaphore(maxConcurrent);
+        }
+
+        /**
+         * @return whether this call is the half-open probe
+         */
+        boolean admit(long now) {
+            long openUntil = openUntilMillis;
+            if (openUntil == 0) {
+                return false;
+            }
+            if (now >= openUntil && probing.compareAndSet(false, true)) {
+                return true;
+            }
+            shortCircuited.incrementAndGet();
+            long retryAfter = Math.max(1, (openUntil - now + 999) / 1000);
+            throw new UpstreamUnavailableException(key + " is unavailable, please retry shortly", retryAfter);
+        }
+
+        void onSuccess(boolean probe) {
+            consecutiveFailures.set(0);
+            if (probe || openUntilMillis != 0) {
+                openUntilMillis = 0;
+                probing.set(false);
+                if (probe) {
+                    log.info("Circuit to {} closed", key);
+                }
+            }
+        }
+
+        void onFailure(long now, boolean probe) {
+            failures.incrementAndGet();
+            int failed = consecutiveFailures.incrementAndGet();
+            if (probe || failed >= failureThreshold) {
+                boolean wasClosed = openUntilMillis == 0;
+                openUntilMillis = now + openMillis;
+                probing.set(false);
+                if (wasClosed || probe) {
+                    log.warn("Circuit to {} opened after {} consecutive failures", key, failed);
+                }
+            }
+        }
+
+        String state(long now) {
+            long openUntil = openUntilMillis;
+            if (openUntil == 0) {
+                return "CLOSED";
+            }
+            return now >= openUntil ? "HALF_OPEN" : "OPEN";
+        }
+    }
+
+    public record HostStats(String host, String circuit, int inFlight, long requests, long failures, long rejected,
+            long shortCircuited) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.assignment.sweet.migration;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Version 2: the pooled id sequences for sweets and purchases (see the
+ * {@code @SequenceGenerator}s on {@code Sweet} and {@code Purchase}).
+ *
+ * Hibernate's pooled optimizer treats each value it reads as the top of a
+ * block of {@value #ALLOCATION_SIZE} ids, so a sequence must start at least
+ * that far above the highest existing id. The start value is computed here
+ * rather than in SQL because PostgreSQL and H2 have no common way to set a
+ * sequence from a query. Databases that moved off identity columns before
+ * migrations existed already have the sequences, which are left untouched.
+ *
+ * Registered as a bean, which is how Spring Boot hands Java migrations to
+ * Flyway; the version comes from {@link #getVersion()} instead of a
+ * {@code V2__...} class name.
+ */
+@Component
+public class PooledIdSequencesMigration implements JavaMigration {
+
+    static final int ALLOCATION_SIZE = 50;
+    private static final String[] TABLES = { "sweets", "purchases" };
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("2");
+    }
+
+    @Override
+    public String getDescription() {
+        return "pooled id sequences";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                long maxId;
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                    rs.next();
+                    maxId = rs.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + table + "_seq START WITH "
+                        + (maxId + ALLOCATION_SIZE) + " INCREMENT BY " + ALLOCATION_SIZE);
+                if (postgres) {
+                    // Tables created with identity ids: only Hibernate assigns ids from now on
+                    statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+                    statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP DEFAULT");
+                }
+            }
+        }
+    }
+}
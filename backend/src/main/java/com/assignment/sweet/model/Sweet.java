@@ -4,17 +4,22 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "sweets")
+// Entity updates write only the columns that changed
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Sweet {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (ids handed out in blocks of 50) so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sweets_seq")
+    @SequenceGenerator(name = "sweets_seq", sequenceName = "sweets_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -26,7 +31,9 @@ public class Sweet {
     @Column(nullable = false)
     private BigDecimal price;
 
-    @Column(nullable = false)
+    // Stock only moves through relative UPDATEs (SweetRepository#decrementStock,
+    // #incrementStock) so an entity save can never overwrite concurrent purchases
+    @Column(nullable = false, updatable = false)
     private Integer quantity;
 
     @Column(columnDefinition = "TEXT")
@@ -34,4 +41,24 @@ public class Sweet {
 
     @Column(name = "image_url")
     private String imageUrl;
+
+    // Resized variants of an uploaded image; null until generated (or for external URLs)
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "card_image_url")
+    private String cardImageUrl;
+
+    @Column(name = "detail_image_url")
+    private String detailImageUrl;
+
+    // Bumped by every entity update; stock changes leave it alone
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public Sweet(Long id, String name, String category, BigDecimal price, Integer quantity, String description,
+            String imageUrl) {
+        this(id, name, category, price, quantity, description, imageUrl, null, null, null, null);
+    }
 }
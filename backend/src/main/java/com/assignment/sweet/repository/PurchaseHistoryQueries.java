@@ -0,0 +1,21 @@
+package com.assignment.sweet.repository;
+
+import com.assignment.sweet.dto.PurchaseHistoryItem;
+import com.assignment.sweet.model.Purchase;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Purchase history pages read straight into {@link PurchaseHistoryItem}, so
+ * no {@link Purchase} entities are loaded or tracked. Part of
+ * {@link PurchaseRepository}.
+ */
+public interface PurchaseHistoryQueries {
+
+    /**
+     * At most {@code limit} rows matching {@code spec} (filters and the keyset
+     * predicate from {@link PurchaseSpecifications}), newest first.
+     */
+    List<PurchaseHistoryItem> findHistory(Specification<Purchase> spec, int limit);
+}
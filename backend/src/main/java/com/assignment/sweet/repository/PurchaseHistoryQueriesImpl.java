@@ -0,0 +1,36 @@
+package com.assignment.sweet.repository;
+
+import com.assignment.sweet.dto.PurchaseHistoryItem;
+import com.assignment.sweet.model.Purchase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// SELECT new PurchaseHistoryItem(...) FROM Purchase p WHERE <spec> ORDER BY p.createdDate DESC, p.id DESC
+class PurchaseHistoryQueriesImpl implements PurchaseHistoryQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PurchaseHistoryItem> findHistory(Specification<Purchase> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PurchaseHistoryItem> query = cb.createQuery(PurchaseHistoryItem.class);
+        Root<Purchase> p = query.from(Purchase.class);
+        query.select(cb.construct(PurchaseHistoryItem.class, p.get("id"), p.get("sweetId"), p.get("sweetName"),
+                p.get("quantity"), p.get("pricePerUnit"), p.get("totalPrice"), p.get("customerEmail"),
+                p.get("createdDate")));
+        Predicate where = spec != null ? spec.toPredicate(p, query, cb) : null;
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(cb.desc(p.get("createdDate")), cb.desc(p.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -1,12 +1,32 @@
 package com.assignment.sweet.repository;
 
+import com.assignment.sweet.dto.PurchaseSummary;
 import com.assignment.sweet.model.Purchase;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.math.BigDecimal;
 
 @Repository
-public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
-    List<Purchase> findByCustomerEmailOrderByCreatedDateDesc(String customerEmail);
+public interface PurchaseRepository extends JpaRepository<Purchase, Long>, JpaSpecificationExecutor<Purchase>,
+        PurchaseHistoryQueries {
+
+    @Query("SELECT new com.assignment.sweet.dto.PurchaseSummary(COUNT(p), COALESCE(SUM(p.quantity), 0), "
+            + "COALESCE(SUM(p.totalPrice), 0)) FROM Purchase p WHERE p.customerEmail = :email")
+    PurchaseSummary summarizeByCustomer(@Param("email") String customerEmail);
+
+    @Query("SELECT COUNT(p) AS salesCount, COALESCE(SUM(p.quantity), 0) AS unitsSold, "
+            + "COALESCE(SUM(p.totalPrice), 0) AS revenue FROM Purchase p")
+    SalesTotals summarizeSales();
+
+    interface SalesTotals {
+        long getSalesCount();
+
+        long getUnitsSold();
+
+        BigDecimal getRevenue();
+    }
 }
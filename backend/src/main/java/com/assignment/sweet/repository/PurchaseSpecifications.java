@@ -0,0 +1,46 @@
+package com.assignment.sweet.repository;
+
+import com.assignment.sweet.model.Purchase;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Purchase history filters and the keyset predicate for newest-first paging.
+ * Each combination is served by one of the purchases indexes created in
+ * {@code db/migration/V3__performance_indexes.sql}.
+ */
+public final class PurchaseSpecifications {
+
+    private PurchaseSpecifications() {
+    }
+
+    public static Specification<Purchase> byCustomer(String customerEmail) {
+        return (root, query, cb) -> cb.equal(root.get("customerEmail"), customerEmail);
+    }
+
+    public static Specification<Purchase> forSweet(Long sweetId) {
+        return (root, query, cb) -> cb.equal(root.get("sweetId"), sweetId);
+    }
+
+    public static Specification<Purchase> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdDate"), from);
+    }
+
+    public static Specification<Purchase> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdDate"), to);
+    }
+
+    /**
+     * Rows strictly after the (createdDate, id) position the previous page ended
+     * on, in {@code createdDate DESC, id DESC} order.
+     */
+    public static Specification<Purchase> before(LocalDateTime lastCreated, Long lastId) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> created = root.get("createdDate");
+            return cb.or(cb.lessThan(created, lastCreated),
+                    cb.and(cb.equal(created, lastCreated), cb.lessThan(root.get("id"), lastId)));
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.assignment.sweet.repository;
+
+import com.assignment.sweet.model.Reservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    /** Due holds, oldest first, read through the expires_at index. */
+    List<Reservation> findByExpiresAtLessThanEqualOrderByExpiresAtAsc(Instant now, Pageable page);
+
+    /**
+     * Deletes a hold. Whoever deletes the row owns its units, so a hold is
+     * confirmed, cancelled or expired exactly once across all replicas.
+     *
+     * @return 1 if this call removed the hold, 0 if it was already gone
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Reservation r WHERE r.id = :id")
+    int claim(@Param("id") Long id);
+
+    @Query("SELECT COALESCE(SUM(r.quantity), 0) FROM Reservation r WHERE r.sweetId = :sweetId")
+    long sumQuantityBySweetId(@Param("sweetId") Long sweetId);
+}
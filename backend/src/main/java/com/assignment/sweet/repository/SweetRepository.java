@@ -2,6 +2,110 @@ package com.assignment.sweet.repository;
 
 import com.assignment.sweet.model.Sweet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface SweetRepository extends JpaRepository<Sweet, Long> {
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface SweetRepository extends JpaRepository<Sweet, Long>, JpaSpecificationExecutor<Sweet> {
+
+    /**
+     * Conditionally decrements stock in a single UPDATE. The row is only touched
+     * when enough units remain, so concurrent purchases can never oversell.
+     *
+     * @return number of rows updated (1 on success, 0 if the sweet is missing or
+     *         stock is insufficient)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Sweet s SET s.quantity = s.quantity - :quantity WHERE s.id = :id AND s.quantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Adds stock in a single UPDATE, relative to whatever the row holds at the
+     * time, so restocks and purchases never overwrite each other.
+     *
+     * @return number of rows updated (0 if the sweet is missing)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Sweet s SET s.quantity = s.quantity + :quantity WHERE s.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Reservation bookkeeping. sweets.reserved is owned by ReservationService and
+    // deliberately not mapped on Sweet, hence the native queries.
+
+    /**
+     * Moves units from available stock into {@code reserved}, with the same
+     * conditional UPDATE as {@link #decrementStock}.
+     *
+     * @return 1 on success, 0 if the sweet is missing or stock is insufficient
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE sweets SET quantity = quantity - :quantity, reserved = reserved + :quantity "
+            + "WHERE id = :id AND quantity >= :quantity", nativeQuery = true)
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /** Returns reserved units to available stock. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE sweets SET quantity = quantity + :quantity, reserved = reserved - :quantity "
+            + "WHERE id = :id AND reserved >= :quantity", nativeQuery = true)
+    int releaseReservedStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /** Drops reserved units that have been sold. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE sweets SET reserved = reserved - :quantity WHERE id = :id AND reserved >= :quantity",
+            nativeQuery = true)
+    int consumeReservedStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query(value = "SELECT id AS id, reserved AS reserved FROM sweets WHERE reserved > 0", nativeQuery = true)
+    List<ReservedStock> findReservedStock();
+
+    /**
+     * Reads {@code reserved} and locks the row until the transaction ends, so
+     * no hold can be placed or claimed for the sweet in the meantime.
+     *
+     * @return the reserved units, or null if the sweet is missing
+     */
+    @Query(value = "SELECT reserved FROM sweets WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Integer lockReservedStock(@Param("id") Long id);
+
+    /**
+     * Records generated image variants, unless the sweet's image was replaced
+     * while they were being produced.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Sweet s SET s.thumbnailUrl = :thumbnailUrl, s.cardImageUrl = :cardImageUrl, "
+            + "s.detailImageUrl = :detailImageUrl WHERE s.id = :id AND s.imageUrl = :imageUrl")
+    int updateImageVariants(@Param("id") Long id, @Param("imageUrl") String imageUrl,
+            @Param("thumbnailUrl") String thumbnailUrl, @Param("cardImageUrl") String cardImageUrl,
+            @Param("detailImageUrl") String detailImageUrl);
+
+    /**
+     * Inventory aggregates for the admin dashboard in a single scan of sweets.
+     */
+    @Query("SELECT COUNT(s) AS sweetCount, COALESCE(SUM(s.price * s.quantity), 0) AS inventoryValue, "
+            + "COALESCE(SUM(CASE WHEN s.quantity > 0 AND s.quantity < :lowStockThreshold THEN 1 ELSE 0 END), 0) "
+            + "AS lowStockCount, "
+            + "COALESCE(SUM(CASE WHEN s.quantity <= 0 THEN 1 ELSE 0 END), 0) AS outOfStockCount FROM Sweet s")
+    InventoryTotals summarizeInventory(@Param("lowStockThreshold") int lowStockThreshold);
+
+    interface InventoryTotals {
+        long getSweetCount();
+
+        BigDecimal getInventoryValue();
+
+        long getLowStockCount();
+
+        long getOutOfStockCount();
+    }
+
+    interface ReservedStock {
+        Long getId();
+
+        Integer getReserved();
+    }
 }
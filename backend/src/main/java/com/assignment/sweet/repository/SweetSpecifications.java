@@ -0,0 +1,70 @@
+package com.assignment.sweet.repository;
+
+import com.assignment.sweet.model.Sweet;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Catalog filters and keyset predicates, pushed down into SQL by
+ * {@link SweetRepository}.
+ */
+public final class SweetSpecifications {
+
+    private SweetSpecifications() {
+    }
+
+    public static Specification<Sweet> nameContains(String name) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + escapeLike(name.toLowerCase()) + "%",
+                '\\');
+    }
+
+    // Served by idx_sweets_lower_category_price on PostgreSQL (see CategorySearchIndexMigration)
+    public static Specification<Sweet> inCategory(String category) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("category")), category.toLowerCase());
+    }
+
+    public static Specification<Sweet> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Sweet> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    // Keyset predicates: rows strictly after the (sort key, id) position the
+    // previous page ended on, for each SweetSortOrder
+
+    public static Specification<Sweet> afterName(String lastName, Long lastId) {
+        return (root, query, cb) -> {
+            Path<String> name = root.get("name");
+            return cb.or(cb.greaterThan(name, lastName),
+                    cb.and(cb.equal(name, lastName), cb.greaterThan(root.get("id"), lastId)));
+        };
+    }
+
+    public static Specification<Sweet> afterPriceAscending(BigDecimal lastPrice, Long lastId) {
+        return (root, query, cb) -> {
+            Path<BigDecimal> price = root.get("price");
+            return cb.or(cb.greaterThan(price, lastPrice),
+                    cb.and(cb.equal(price, lastPrice), cb.greaterThan(root.get("id"), lastId)));
+        };
+    }
+
+    public static Specification<Sweet> afterPriceDescending(BigDecimal lastPrice, Long lastId) {
+        return (root, query, cb) -> {
+            Path<BigDecimal> price = root.get("price");
+            return cb.or(cb.lessThan(price, lastPrice),
+                    cb.and(cb.equal(price, lastPrice), cb.lessThan(root.get("id"), lastId)));
+        };
+    }
+
+    public static Specification<Sweet> olderThan(Long lastId) {
+        return (root, query, cb) -> cb.lessThan(root.get("id"), lastId);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
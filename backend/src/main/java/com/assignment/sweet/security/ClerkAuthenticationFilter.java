@@ -1,12 +1,11 @@
 package com.assignment.sweet.security;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import com.auth0.jwk.Jwk;
-import com.auth0.jwk.JwkProvider;
-import com.auth0.jwk.JwkProviderBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,19 +15,20 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.assignment.sweet.http.OutboundHttpClient;
+import com.assignment.sweet.model.AuthType;
 import com.assignment.sweet.model.User;
 import com.assignment.sweet.repository.UserRepository;
+import com.assignment.sweet.service.UserSyncService;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.security.interfaces.RSAPublicKey;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 
 @Slf4j
 @Component
@@ -40,39 +40,95 @@ public class ClerkAuthenticationFilter extends OncePerRequestFilter {
     @Value("${clerk.jwks-uri:}")
     private String jwksUri;
 
-    private JwkProvider jwkProvider;
+    @Value("${clerk.token-cache.enabled:true}")
+    private boolean tokenCacheEnabled;
 
-    private UserDetailsService userDetailsService;
+    @Value("${clerk.token-cache.max-size:10000}")
+    private int tokenCacheMaxSize;
+
+    @Value("${clerk.token-cache.max-ttl:5m}")
+    private Duration tokenCacheMaxTtl;
+
+    @Value("${clerk.jwks.refresh-interval:10m}")
+    private Duration jwksRefreshInterval;
+
+    @Value("${clerk.jwks.min-refresh-interval:30s}")
+    private Duration jwksMinRefreshInterval;
+
+    // kid -> pre-built RS256 verifier; loaded at startup and refreshed in the background
+    private JwksVerifierCache jwksVerifiers;
+
+    // Verified token -> principal, so RSA verification and claim parsing run once
+    // per token rather than once per request
+    private VerifiedTokenCache tokenCache;
+
+    private UserSyncService userSyncService;
     private UserRepository userRepository;
+    private JwtTokenProvider jwtTokenProvider;
+    private OutboundHttpClient outboundHttpClient;
+    private ObjectMapper objectMapper;
 
+    // UserSyncService may be absent in sliced test contexts; authentication
+    // still works, only the users table is not kept in sync
     @org.springframework.beans.factory.annotation.Autowired
     public ClerkAuthenticationFilter(
-            @org.springframework.beans.factory.annotation.Autowired(required = false) UserDetailsService userDetailsService,
+            @org.springframework.beans.factory.annotation.Autowired(required = false) UserSyncService userSyncService,
+            @org.springframework.beans.factory.annotation.Autowired(required = false) JwtTokenProvider jwtTokenProvider,
+            @org.springframework.beans.factory.annotation.Autowired(required = false) OutboundHttpClient outboundHttpClient,
+            @org.springframework.beans.factory.annotation.Autowired(required = false) ObjectMapper objectMapper,
             @org.springframework.beans.factory.annotation.Autowired(required = false) UserRepository userRepository) {
-        this.userDetailsService = userDetailsService;
+        this.userSyncService = userSyncService;
         this.userRepository = userRepository;
-    }
-
-    // Backwards-compatible constructor for test contexts that may not provide a
-    // UserRepository bean
-    public ClerkAuthenticationFilter(UserDetailsService userDetailsService) {
-        this(userDetailsService, null);
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.outboundHttpClient = outboundHttpClient;
+        this.objectMapper = objectMapper;
     }
 
     @jakarta.annotation.PostConstruct
     public void init() {
+        if (tokenCacheEnabled) {
+            tokenCache = new VerifiedTokenCache(tokenCacheMaxSize, tokenCacheMaxTtl);
+        }
+        if (jwksUri == null || jwksUri.isEmpty()) {
+            log.warn("JWKS URI not configured - JWT verification will be skipped (NOT SAFE FOR PRODUCTION)");
+            return;
+        }
+        URI uri;
         try {
-            if (jwksUri != null && !jwksUri.isEmpty()) {
-                jwkProvider = new JwkProviderBuilder(new URL(jwksUri)).build();
-                // Note: verifier is built per-token in doFilterInternal since we need the
-                // specific key
-                log.info("JWKS provider initialized with URI: {}", jwksUri);
-            } else {
-                log.warn("JWKS URI not configured - JWT verification will be skipped (NOT SAFE FOR PRODUCTION)");
-            }
-        } catch (MalformedURLException e) {
+            uri = URI.create(jwksUri);
+        } catch (IllegalArgumentException e) {
             log.error("Invalid JWKS URI: {}", jwksUri, e);
+            return;
         }
+        // Sliced test contexts may lack the shared client; fall back to a private one
+        OutboundHttpClient http = outboundHttpClient != null ? outboundHttpClient
+                : new OutboundHttpClient(Duration.ofSeconds(3), Duration.ofSeconds(10), 4, 5, Duration.ofSeconds(30));
+        HttpJwkProvider provider = new HttpJwkProvider(http, objectMapper != null ? objectMapper : new ObjectMapper(),
+                uri);
+        // Extract issuer from JWKS URI (e.g.,
+        // https://xxx.clerk.accounts.dev/.well-known/jwks.json ->
+        // https://xxx.clerk.accounts.dev)
+        String expectedIssuer = jwksUri.replace("/.well-known/jwks.json", "");
+        jwksVerifiers = new JwksVerifierCache(provider::getAll, expectedIssuer, jwksMinRefreshInterval);
+        jwksVerifiers.start(jwksRefreshInterval);
+        log.info("JWKS loaded from {} ({} key(s)), refreshing every {}", jwksUri, jwksVerifiers.size(),
+                jwksRefreshInterval);
+    }
+
+    @jakarta.annotation.PreDestroy
+    public void shutdown() {
+        if (jwksVerifiers != null) {
+            jwksVerifiers.shutdown();
+        }
+    }
+
+    /**
+     * As a {@code @Component} this filter is also registered with the servlet
+     * container, so it must skip public static content itself.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/uploads/");
     }
 
     @Override
@@ -91,235 +147,253 @@ public class ClerkAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            // Verify the JWT token with Clerk's public keys
-            DecodedJWT decodedJWT;
-            if (jwkProvider != null) {
-                // Get the key ID from the token header
-                String kid = JWT.decode(jwt).getKeyId();
-                if (kid == null) {
-                    throw new JWTVerificationException("Token missing 'kid' header");
+            ClerkPrincipal principal = tokenCache != null ? tokenCache.get(jwt) : null;
+            if (principal == null) {
+                principal = authenticateToken(jwt);
+                if (tokenCache != null) {
+                    tokenCache.put(jwt, principal);
                 }
-
-                // Get the public key for this key ID
-                Jwk jwk = jwkProvider.get(kid);
-                RSAPublicKey publicKey = (RSAPublicKey) jwk.getPublicKey();
-
-                // Create algorithm with the correct public key
-                Algorithm algorithm = Algorithm.RSA256(publicKey);
-
-                // Extract issuer from JWKS URI (e.g.,
-                // https://xxx.clerk.accounts.dev/.well-known/jwks.json ->
-                // https://xxx.clerk.accounts.dev)
-                String expectedIssuer = jwksUri.replace("/.well-known/jwks.json", "");
-
-                // Verify the token with flexible issuer matching
-                decodedJWT = JWT.require(algorithm)
-                        .withIssuer(expectedIssuer)
-                        .build()
-                        .verify(jwt);
-            } else {
-                // Fallback to decode-only for development (NOT SECURE)
-                log.warn("JWKS URI not configured - using insecure JWT decode only!");
-                decodedJWT = JWT.decode(jwt);
             }
 
             // Basic validation - check if token is not expired
-            java.util.Date expiresAt = decodedJWT.getExpiresAt();
-            if (expiresAt != null && expiresAt.after(new java.util.Date()) &&
+            if (principal.expiresAt() != null && principal.expiresAt().isAfter(Instant.now()) &&
                     SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                // Extract user information from the token
-                String userId = decodedJWT.getSubject();
-                String email = decodedJWT.getClaim("email").asString();
-                String firstName = decodedJWT.getClaim("first_name").asString();
-                String lastName = decodedJWT.getClaim("last_name").asString();
-
-                // Log all claims for debugging
-                log.debug("JWT claims for user {}: {}", userId, decodedJWT.getClaims().keySet());
-
-                // Determine role from token claims (support several claim shapes)
-                String role = "USER"; // default role
-
-                // Check "o" claim - Clerk's organization claim (contains org membership info)
-                try {
-                    // The "o" claim in Clerk contains organization info when user is in an org
-                    // Format: {id=org_xxx, rol=admin, slg=slug-name}
-                    var oClaim = decodedJWT.getClaim("o");
-                    if (!oClaim.isNull()) {
-                        // Try to get as map (Clerk org claim format)
-                        java.util.Map<String, Object> orgMap = oClaim.asMap();
-                        if (orgMap != null) {
-                            log.debug("JWT 'o' claim (org info): {}", orgMap);
-                            // Clerk uses "rol" (not "role") for the role field
-                            Object orgRole = orgMap.get("rol");
-                            Object orgSlg = orgMap.get("slg"); // slug
-                            Object orgPer = orgMap.get("per"); // permissions
-                            log.debug("Org rol: {}, slug: {}, permissions: {}", orgRole, orgSlg, orgPer);
-
-                            if (orgRole != null) {
-                                String r = orgRole.toString().toLowerCase();
-                                if (r.equals("admin") || r.equals("org:admin") || r.equals("owner")) {
-                                    role = "ADMIN";
-                                    log.debug("User granted ADMIN role via 'o.rol' claim");
-                                }
-                            }
-                            // Also check permissions for admin
-                            if (orgPer != null && orgPer.toString().contains("admin")) {
-                                role = "ADMIN";
-                                log.debug("User granted ADMIN role via org permissions");
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    log.debug("Failed to parse 'o' claim: {}", e.getMessage());
+                // Mirror Clerk identities into the users table in the background; this is
+                // a no-op unless the claims changed since the last sync. Local accounts
+                // already live there and are never written from a token.
+                if (userSyncService != null && principal.authType() == AuthType.CLERK) {
+                    userSyncService.requestSync(principal);
                 }
 
-                // 0) role claim as string (local JWTs use 'role')
-                try {
-                    String roleClaim = decodedJWT.getClaim("role").asString();
-                    if (roleClaim != null
-                            && (roleClaim.equalsIgnoreCase("admin") || roleClaim.equalsIgnoreCase("administrator"))) {
-                        role = "ADMIN";
-                    }
-                } catch (Exception ignored) {
-                }
+                // The principal is built straight from the verified claims, so
+                // authenticated requests need no user-table queries
+                User userDetails = toUserDetails(principal);
 
-                try {
-                    // 1) roles claim as array
-                    java.util.List<String> rolesClaim = decodedJWT.getClaim("roles").asList(String.class);
-                    if (rolesClaim != null) {
-                        for (String r : rolesClaim) {
-                            if (r != null && r.equalsIgnoreCase("admin")) {
-                                role = "ADMIN";
-                                break;
-                            }
-                        }
-                    }
-                } catch (Exception ignored) {
-                }
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities());
+                authToken.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            }
+        } catch (Exception e) {
+            log.error("Failed to authenticate with Clerk token", e);
+            // Continue with filter chain - authentication will fail downstream
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Transient (never persisted) User carrying the identity and role of the
+     * principal, so downstream code sees the same principal type as before.
+     */
+    private static User toUserDetails(ClerkPrincipal principal) {
+        User user = new User();
+        user.setClerkId(principal.userId());
+        user.setEmail(principal.username());
+        user.setFirstName(principal.firstName());
+        user.setLastName(principal.lastName());
+        user.setRole(principal.role());
+        user.setAuthType(principal.authType());
+        return user;
+    }
+
+    /**
+     * Local-auth tokens (HS256, issued by {@link JwtTokenProvider}) are validated
+     * with one HMAC and one parse; everything else is treated as a Clerk token.
+     */
+    private ClerkPrincipal authenticateToken(String jwt) throws Exception {
+        DecodedJWT unverified = JWT.decode(jwt);
+        if (jwtTokenProvider != null && "HS256".equals(unverified.getAlgorithm())) {
+            return resolveLocalPrincipal(jwtTokenProvider.parseClaims(jwt));
+        }
+        return resolvePrincipal(verify(jwt, unverified));
+    }
+
+    /**
+     * Local tokens only prove who the caller is. The role comes from the stored
+     * account, so demoting or deleting a user takes effect once their cached
+     * principal expires, whatever role the token was issued with.
+     */
+    private ClerkPrincipal resolveLocalPrincipal(Claims claims) {
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        String email = claims.getSubject();
+        String role;
+        if (userRepository != null) {
+            User account = userRepository.findByEmail(email)
+                    .filter(user -> user.getAuthType() == AuthType.LOCAL)
+                    .orElseThrow(() -> new JWTVerificationException("No local account for token subject"));
+            role = account.getRole();
+        } else {
+            // Sliced test contexts without a users table: trust the signed claim
+            Object roleClaim = claims.get("role");
+            role = roleClaim != null
+                    && (roleClaim.toString().equalsIgnoreCase("admin")
+                            || roleClaim.toString().equalsIgnoreCase("administrator"))
+                                    ? "ADMIN"
+                                    : "USER";
+        }
+        // Local tokens use the email as subject and have no Clerk user id
+        return new ClerkPrincipal(null, email, null, null, role, expiresAt, AuthType.LOCAL);
+    }
+
+    /**
+     * Verifies the token signature and issuer against Clerk's JWKS, or only
+     * decodes it when JWKS is not configured (development).
+     */
+    private DecodedJWT verify(String jwt, DecodedJWT unverified) throws Exception {
+        if (jwksVerifiers == null) {
+            // Fallback to decode-only for development (NOT SECURE)
+            log.warn("JWKS URI not configured - using insecure JWT decode only!");
+            return unverified;
+        }
+
+        // Get the key ID from the token header
+        String kid = unverified.getKeyId();
+        if (kid == null) {
+            throw new JWTVerificationException("Token missing 'kid' header");
+        }
+
+        // Pre-built verifier for this key (checks signature and issuer); never fetches JWKS inline
+        JWTVerifier verifier = jwksVerifiers.get(kid);
+        if (verifier == null) {
+            throw new JWTVerificationException("Unknown signing key '" + kid + "'");
+        }
+        return verifier.verify(jwt);
+    }
+
+    /**
+     * Extracts identity and role from a verified token. Runs once per token when
+     * the verified-token cache is enabled.
+     */
+    ClerkPrincipal resolvePrincipal(DecodedJWT decodedJWT) {
+        // Extract user information from the token
+        String userId = decodedJWT.getSubject();
+        String email = decodedJWT.getClaim("email").asString();
+        String firstName = decodedJWT.getClaim("first_name").asString();
+        String lastName = decodedJWT.getClaim("last_name").asString();
+
+        // Log all claims for debugging
+        log.debug("JWT claims for user {}: {}", userId, decodedJWT.getClaims().keySet());
+
+        String role = resolveRole(decodedJWT);
+        log.debug("Final role for user {}: {}", email, role);
+
+        Instant expiresAt = decodedJWT.getExpiresAt() != null ? decodedJWT.getExpiresAt().toInstant() : null;
+        return new ClerkPrincipal(userId, email, firstName, lastName, role, expiresAt);
+    }
+
+    // Determine role from token claims (support several claim shapes)
+    private String resolveRole(DecodedJWT decodedJWT) {
+        String role = "USER"; // default role
+
+        // Check "o" claim - Clerk's organization claim (contains org membership info)
+        try {
+            // The "o" claim in Clerk contains organization info when user is in an org
+            // Format: {id=org_xxx, rol=admin, slg=slug-name}
+            var oClaim = decodedJWT.getClaim("o");
+            if (!oClaim.isNull()) {
+                // Try to get as map (Clerk org claim format)
+                java.util.Map<String, Object> orgMap = oClaim.asMap();
+                if (orgMap != null) {
+                    log.debug("JWT 'o' claim (org info): {}", orgMap);
+                    // Clerk uses "rol" (not "role") for the role field
+                    Object orgRole = orgMap.get("rol");
+                    Object orgSlg = orgMap.get("slg"); // slug
+                    Object orgPer = orgMap.get("per"); // permissions
+                    log.debug("Org rol: {}, slug: {}, permissions: {}", orgRole, orgSlg, orgPer);
 
-                // 2) org_role claim (Clerk's standard claim for current org role)
-                try {
-                    String orgRole = decodedJWT.getClaim("org_role").asString();
-                    log.debug("JWT org_role claim: {}", orgRole);
                     if (orgRole != null) {
-                        String r = orgRole.toLowerCase();
+                        String r = orgRole.toString().toLowerCase();
                         if (r.equals("admin") || r.equals("org:admin") || r.equals("owner")) {
                             role = "ADMIN";
-                            log.debug("User granted ADMIN role via org_role claim");
+                            log.debug("User granted ADMIN role via 'o.rol' claim");
                         }
                     }
-                } catch (Exception ignored) {
-                }
-
-                // 2b) org_roles or organization_roles claim (array form)
-                try {
-                    java.util.List<String> orgRoles = decodedJWT.getClaim("org_roles").asList(String.class);
-                    if (orgRoles == null)
-                        orgRoles = decodedJWT.getClaim("organization_roles").asList(String.class);
-                    if (orgRoles != null) {
-                        for (String r : orgRoles) {
-                            if (r != null) {
-                                String rl = r.toLowerCase();
-                                if (rl.equals("admin") || rl.equals("org:admin") || rl.equals("owner")) {
-                                    role = "ADMIN";
-                                    break;
-                                }
-                            }
-                        }
+                    // Also check permissions for admin
+                    if (orgPer != null && orgPer.toString().contains("admin")) {
+                        role = "ADMIN";
+                        log.debug("User granted ADMIN role via org permissions");
                     }
-                } catch (Exception ignored) {
                 }
+            }
+        } catch (Exception e) {
+            log.debug("Failed to parse 'o' claim: {}", e.getMessage());
+        }
 
-                // 3) public_metadata.role if Clerk uses public meta for role
-                try {
-                    java.util.Map<String, Object> publicMeta = decodedJWT.getClaim("public_metadata").asMap();
-                    if (publicMeta != null && publicMeta.get("role") != null) {
-                        String rm = publicMeta.get("role").toString();
-                        if (rm.equalsIgnoreCase("admin") || rm.equalsIgnoreCase("administrator")) {
-                            role = "ADMIN";
-                        }
+        // 0) role claim as string (local JWTs use 'role')
+        try {
+            String roleClaim = decodedJWT.getClaim("role").asString();
+            if (roleClaim != null
+                    && (roleClaim.equalsIgnoreCase("admin") || roleClaim.equalsIgnoreCase("administrator"))) {
+                role = "ADMIN";
+            }
+        } catch (Exception ignored) {
+        }
+
+        try {
+            // 1) roles claim as array
+            java.util.List<String> rolesClaim = decodedJWT.getClaim("roles").asList(String.class);
+            if (rolesClaim != null) {
+                for (String r : rolesClaim) {
+                    if (r != null && r.equalsIgnoreCase("admin")) {
+                        role = "ADMIN";
+                        break;
                     }
-                } catch (Exception ignored) {
                 }
+            }
+        } catch (Exception ignored) {
+        }
 
-                log.debug("Final role for user {}: {}", email, role);
-
-                // Use email as username for compatibility
-                String username = email != null ? email : userId;
+        // 2) org_role claim (Clerk's standard claim for current org role)
+        try {
+            String orgRole = decodedJWT.getClaim("org_role").asString();
+            log.debug("JWT org_role claim: {}", orgRole);
+            if (orgRole != null) {
+                String r = orgRole.toLowerCase();
+                if (r.equals("admin") || r.equals("org:admin") || r.equals("owner")) {
+                    role = "ADMIN";
+                    log.debug("User granted ADMIN role via org_role claim");
+                }
+            }
+        } catch (Exception ignored) {
+        }
 
-                // Upsert user in local DB so we have clerkId and role stored (if repository
-                // available)
-                try {
-                    if (userRepository != null) {
-                        User user = null;
-                        if (userId != null && !userId.isEmpty()) {
-                            user = userRepository.findByClerkId(userId).orElse(null);
-                        }
-                        if (user == null && username != null) {
-                            user = userRepository.findByEmail(username).orElse(null);
-                        }
-                        if (user == null) {
-                            // Create new user
-                            User newUser = new User();
-                            newUser.setClerkId(userId);
-                            newUser.setEmail(username);
-                            newUser.setFirstName(firstName);
-                            newUser.setLastName(lastName);
-                            newUser.setRole(role);
-                            user = userRepository.save(newUser);
-                        } else {
-                            boolean changed = false;
-                            if (user.getClerkId() == null && userId != null) {
-                                user.setClerkId(userId);
-                                changed = true;
-                            }
-                            if (user.getRole() == null || !user.getRole().equals(role)) {
-                                user.setRole(role);
-                                changed = true;
-                            }
-                            if (firstName != null && !firstName.equals(user.getFirstName())) {
-                                user.setFirstName(firstName);
-                                changed = true;
-                            }
-                            if (lastName != null && !lastName.equals(user.getLastName())) {
-                                user.setLastName(lastName);
-                                changed = true;
-                            }
-                            if (changed) {
-                                userRepository.save(user);
-                            }
+        // 2b) org_roles or organization_roles claim (array form)
+        try {
+            java.util.List<String> orgRoles = decodedJWT.getClaim("org_roles").asList(String.class);
+            if (orgRoles == null)
+                orgRoles = decodedJWT.getClaim("organization_roles").asList(String.class);
+            if (orgRoles != null) {
+                for (String r : orgRoles) {
+                    if (r != null) {
+                        String rl = r.toLowerCase();
+                        if (rl.equals("admin") || rl.equals("org:admin") || rl.equals("owner")) {
+                            role = "ADMIN";
+                            break;
                         }
-                    } else {
-                        log.debug("UserRepository not available in context; skipping user sync");
                     }
-                } catch (Exception e) {
-                    log.warn("Failed to sync user to DB", e);
                 }
+            }
+        } catch (Exception ignored) {
+        }
 
-                // If UserDetailsService is not available in this context, skip creating auth
-                if (userDetailsService == null) {
-                    log.debug("UserDetailsService not available; skipping authentication");
-                    filterChain.doFilter(request, response);
-                    return;
+        // 3) public_metadata.role if Clerk uses public meta for role
+        try {
+            java.util.Map<String, Object> publicMeta = decodedJWT.getClaim("public_metadata").asMap();
+            if (publicMeta != null && publicMeta.get("role") != null) {
+                String rm = publicMeta.get("role").toString();
+                if (rm.equalsIgnoreCase("admin") || rm.equalsIgnoreCase("administrator")) {
+                    role = "ADMIN";
                 }
-                // Create UserDetails
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                // Create authentication token
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
-        } catch (Exception e) {
-            log.error("Failed to authenticate with Clerk token", e);
-            // Continue with filter chain - authentication will fail downstream
+        } catch (Exception ignored) {
         }
 
-        filterChain.doFilter(request, response);
+        return role;
     }
 }
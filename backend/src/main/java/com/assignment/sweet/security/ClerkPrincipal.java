@@ -0,0 +1,32 @@
+package com.assignment.sweet.security;
+
+import com.assignment.sweet.model.AuthType;
+
+import java.time.Instant;
+
+/**
+ * Identity resolved from a verified session token: everything the
+ * authentication filter needs, so the token does not have to be verified or
+ * re-parsed on every request. {@code authType} tells Clerk sessions from
+ * tokens issued for local accounts.
+ */
+public record ClerkPrincipal(
+        String userId,
+        String email,
+        String firstName,
+        String lastName,
+        String role,
+        Instant expiresAt,
+        AuthType authType) {
+
+    /** A Clerk session principal. */
+    public ClerkPrincipal(String userId, String email, String firstName, String lastName, String role,
+            Instant expiresAt) {
+        this(userId, email, firstName, lastName, role, expiresAt, AuthType.CLERK);
+    }
+
+    /** Email is used as the username for compatibility with local accounts. */
+    public String username() {
+        return email != null ? email : userId;
+    }
+}
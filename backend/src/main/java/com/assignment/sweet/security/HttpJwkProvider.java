@@ -0,0 +1,68 @@
+package com.assignment.sweet.security;
+
+import com.assignment.sweet.http.OutboundHttpClient;
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.NetworkException;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches a JWKS document through {@link OutboundHttpClient}, so key lookups
+ * reuse its pooled connections and circuit breaker instead of opening a new
+ * {@code URLConnection} per fetch. Not cached; wrap it in a caching provider.
+ */
+public class HttpJwkProvider implements JwkProvider {
+
+    private static final TypeReference<Map<String, List<Map<String, Object>>>> JWKS = new TypeReference<>() {
+    };
+
+    private final OutboundHttpClient http;
+    private final ObjectMapper objectMapper;
+    private final URI jwksUri;
+
+    public HttpJwkProvider(OutboundHttpClient http, ObjectMapper objectMapper, URI jwksUri) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.jwksUri = jwksUri;
+    }
+
+    @Override
+    public Jwk get(String keyId) throws com.auth0.jwk.JwkException {
+        for (Jwk jwk : getAll()) {
+            if (keyId == null ? jwk.getId() == null : keyId.equals(jwk.getId())) {
+                return jwk;
+            }
+        }
+        throw new SigningKeyNotFoundException("No key found in " + jwksUri + " with kid " + keyId, null);
+    }
+
+    public List<Jwk> getAll() throws SigningKeyNotFoundException {
+        HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                throw new NetworkException("JWKS fetch from " + jwksUri + " failed with " + response.statusCode(),
+                        null);
+            }
+            List<Map<String, Object>> keys = objectMapper.readValue(response.body(), JWKS).get("keys");
+            if (keys == null || keys.isEmpty()) {
+                throw new SigningKeyNotFoundException("No keys found in " + jwksUri, null);
+            }
+            return keys.stream().map(Jwk::fromValues).toList();
+        } catch (IOException | RuntimeException e) {
+            throw new NetworkException("Cannot obtain JWKS from " + jwksUri, e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.assignment.sweet.security;
+
+import com.auth0.jwk.InvalidPublicKeyException;
+import com.auth0.jwk.Jwk;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pre-built RS256 verifiers keyed by {@code kid}, so verifying a Clerk token
+ * is a map lookup plus one signature check and never waits on JWKS I/O.
+ *
+ * The key set is loaded eagerly by {@link #start} and refreshed in the
+ * background every {@code refreshInterval}. A token with an unknown
+ * {@code kid} (e.g. right after key rotation) is rejected immediately and
+ * schedules a refresh; such refreshes run one at a time and at most once per
+ * {@code minRefreshInterval}, so a stream of bogus {@code kid}s cannot turn
+ * into a stream of JWKS fetches. A failed refresh keeps the previous keys.
+ */
+@Slf4j
+public class JwksVerifierCache {
+
+    /** Fetches the current key set, e.g. {@link HttpJwkProvider#getAll()}. */
+    @FunctionalInterface
+    public interface KeySource {
+        List<Jwk> fetch() throws Exception;
+    }
+
+    private final KeySource source;
+    private final String issuer;
+    private final long minRefreshIntervalMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Clock clock;
+
+    private volatile Map<String, JWTVerifier> verifiers = Map.of();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    // Starts far enough in the past that the first unknown kid may refresh immediately
+    private final AtomicLong lastUnknownKidRefreshMillis = new AtomicLong(Long.MIN_VALUE / 2);
+
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong failedRefreshes = new AtomicLong();
+    private final AtomicLong unknownKidLookups = new AtomicLong();
+
+    public JwksVerifierCache(KeySource source, String issuer, Duration minRefreshInterval) {
+        this(source, issuer, minRefreshInterval, Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jwks-refresh");
+            t.setDaemon(true);
+            return t;
+        }), Clock.systemUTC());
+    }
+
+    JwksVerifierCache(KeySource source, String issuer, Duration minRefreshInterval,
+            ScheduledExecutorService scheduler, Clock clock) {
+        this.source = source;
+        this.issuer = issuer;
+        this.minRefreshIntervalMillis = minRefreshInterval.toMillis();
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the key set on the calling thread (so the first requests after
+     * startup find their keys), then schedules periodic refreshes. Startup
+     * continues if the initial load fails; the scheduled refresh retries.
+     */
+    public void start(Duration refreshInterval) {
+        refresh();
+        long millis = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the verifier for {@code kid}, or {@code null} if the key is not
+     *         (yet) known; in that case a background refresh may be scheduled
+     */
+    public JWTVerifier get(String kid) {
+        JWTVerifier verifier = verifiers.get(kid);
+        if (verifier == null) {
+            unknownKidLookups.incrementAndGet();
+            requestRefresh();
+        }
+        return verifier;
+    }
+
+    private void requestRefresh() {
+        long now = clock.millis();
+        long last = lastUnknownKidRefreshMillis.get();
+        if (now - last < minRefreshIntervalMillis || !lastUnknownKidRefreshMillis.compareAndSet(last, now)) {
+            return;
+        }
+        try {
+            scheduler.execute(this::refresh);
+        } catch (RejectedExecutionException e) {
+            log.debug("JWKS refresh not scheduled; cache is shut down");
+        }
+    }
+
+    void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Map<String, JWTVerifier> next = new HashMap<>();
+            for (Jwk jwk : source.fetch()) {
+                JWTVerifier verifier = toVerifier(jwk);
+                if (verifier != null) {
+                    next.put(jwk.getId(), verifier);
+                }
+            }
+            if (next.isEmpty()) {
+                throw new IllegalStateException("JWKS contains no usable RSA signing keys");
+            }
+            if (!next.keySet().equals(verifiers.keySet())) {
+                log.info("JWKS key set updated: {}", next.keySet());
+            }
+            verifiers = Map.copyOf(next);
+            refreshes.incrementAndGet();
+        } catch (Exception e) {
+            failedRefreshes.incrementAndGet();
+            log.warn("JWKS refresh failed; keeping {} known key(s)", verifiers.size(), e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private JWTVerifier toVerifier(Jwk jwk) {
+        if (jwk.getId() == null || (jwk.getUsage() != null && !"sig".equals(jwk.getUsage()))) {
+            return null;
+        }
+        try {
+            PublicKey key = jwk.getPublicKey();
+            if (!(key instanceof RSAPublicKey rsa)) {
+                return null;
+            }
+            return JWT.require(Algorithm.RSA256(rsa, null)).withIssuer(issuer).build();
+        } catch (InvalidPublicKeyException e) {
+            log.debug("Skipping JWKS key {}: {}", jwk.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    public int size() {
+        return verifiers.size();
+    }
+
+    public long refreshes() {
+        return refreshes.get();
+    }
+
+    public long failedRefreshes() {
+        return failedRefreshes.get();
+    }
+
+    public long unknownKidLookups() {
+        return unknownKidLookups.get();
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
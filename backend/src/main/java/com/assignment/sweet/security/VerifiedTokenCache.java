@@ -0,0 +1,83 @@
+package com.assignment.sweet.security;
+
+import com.assignment.sweet.cache.BoundedTtlMap;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache from token hash to {@link ClerkPrincipal}. Entries never
+ * outlive the token's {@code exp}, and tokens are keyed by SHA-256 so raw
+ * bearer tokens are not retained on the heap.
+ */
+public class VerifiedTokenCache {
+
+    private final long maxTtlMillis;
+    private final Clock clock;
+    private final BoundedTtlMap<String, ClerkPrincipal> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public VerifiedTokenCache(int maxSize, Duration maxTtl) {
+        this(maxSize, maxTtl, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(int maxSize, Duration maxTtl, Clock clock) {
+        this.maxTtlMillis = maxTtl.toMillis();
+        this.clock = clock;
+        this.entries = new BoundedTtlMap<>(maxSize, clock);
+    }
+
+    public ClerkPrincipal get(String token) {
+        ClerkPrincipal principal = entries.get(hash(token));
+        if (principal == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return principal;
+    }
+
+    public void put(String token, ClerkPrincipal principal) {
+        if (principal.expiresAt() == null) {
+            return;
+        }
+        long now = clock.millis();
+        long expiresAt = Math.min(principal.expiresAt().toEpochMilli(), now + maxTtlMillis);
+        if (expiresAt <= now) {
+            return;
+        }
+        entries.put(hash(token), principal, expiresAt);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
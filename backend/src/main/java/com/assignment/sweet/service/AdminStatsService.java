@@ -0,0 +1,39 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.dto.AdminStats;
+import com.assignment.sweet.repository.PurchaseRepository;
+import com.assignment.sweet.repository.SweetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Dashboard aggregates computed by the database, so the admin UI no longer
+ * downloads every sweet and purchase to sum them in the browser.
+ */
+@Service
+public class AdminStatsService {
+
+    private final SweetRepository sweetRepository;
+    private final PurchaseRepository purchaseRepository;
+    private final int lowStockThreshold;
+
+    public AdminStatsService(SweetRepository sweetRepository, PurchaseRepository purchaseRepository,
+            @Value("${admin.stats.low-stock-threshold:10}") int lowStockThreshold) {
+        this.sweetRepository = sweetRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    // Both aggregates in one REPEATABLE READ transaction: on PostgreSQL they then
+    // read the same snapshot, which READ COMMITTED would take per statement
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AdminStats getStats() {
+        SweetRepository.InventoryTotals inventory = sweetRepository.summarizeInventory(lowStockThreshold);
+        PurchaseRepository.SalesTotals sales = purchaseRepository.summarizeSales();
+        return new AdminStats(inventory.getSweetCount(), inventory.getInventoryValue(), sales.getSalesCount(),
+                sales.getUnitsSold(), sales.getRevenue(), inventory.getLowStockCount(),
+                inventory.getOutOfStockCount(), lowStockThreshold);
+    }
+}
@@ -3,26 +3,33 @@ package com.assignment.sweet.service;
 import com.assignment.sweet.model.User;
 import com.assignment.sweet.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final com.assignment.sweet.security.JwtTokenProvider jwtTokenProvider;
+    // Runs the JDBC writes that follow a hash, so hashing threads only ever hash
+    private final Executor persistExecutor;
 
     public AuthService(UserRepository userRepository,
-            org.springframework.security.crypto.password.PasswordEncoder passwordEncoder,
-            com.assignment.sweet.security.JwtTokenProvider jwtTokenProvider) {
+            PasswordHashingService passwordHashingService,
+            com.assignment.sweet.security.JwtTokenProvider jwtTokenProvider,
+            @Qualifier("applicationTaskExecutor") Executor persistExecutor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.persistExecutor = persistExecutor;
     }
 
     /**
@@ -78,27 +85,63 @@ public class AuthService {
     }
 
     // Backwards-compatible registration for local testing (kept alongside Clerk)
-    public User register(com.assignment.sweet.dto.RegisterRequest request) {
+    /**
+     * Completes once the password has been hashed and the user saved. The hash
+     * is computed on the hashing pool and the insert runs on Spring's task
+     * executor. Failures, including a full hashing pool, complete the future
+     * exceptionally.
+     */
+    public CompletableFuture<User> register(com.assignment.sweet.dto.RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
+            return CompletableFuture.failedFuture(new RuntimeException("Email already exists"));
         }
-        User user = new User();
-        // LOCAL users have no clerkId
-        user.setClerkId(null);
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setRole(request.getRole() != null ? request.getRole() : "USER");
-        user.setAuthType(com.assignment.sweet.model.AuthType.LOCAL);
-        return userRepository.save(user);
+        return passwordHashingService.encodeAsync(request.getPassword()).thenApplyAsync(hash -> {
+            User user = new User();
+            // LOCAL users have no clerkId
+            user.setClerkId(null);
+            user.setEmail(request.getEmail());
+            user.setPassword(hash);
+            user.setRole(request.getRole() != null ? request.getRole() : "USER");
+            user.setAuthType(com.assignment.sweet.model.AuthType.LOCAL);
+            return userRepository.save(user);
+        }, persistExecutor);
     }
 
-    public String login(com.assignment.sweet.dto.LoginRequest request) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid password");
+    /**
+     * Completes with a JWT once the password has been verified off the request
+     * thread. Failures complete the future exceptionally.
+     */
+    public CompletableFuture<String> login(com.assignment.sweet.dto.LoginRequest request) {
+        Optional<User> found = userRepository.findByEmail(request.getEmail());
+        if (found.isEmpty()) {
+            return CompletableFuture.failedFuture(new RuntimeException("User not found"));
         }
-        return jwtTokenProvider.generateToken(user);
+        User user = found.get();
+        return passwordHashingService.matchesAsync(request.getPassword(), user.getPassword()).thenApply(matches -> {
+            if (!matches) {
+                throw new RuntimeException("Invalid password");
+            }
+            if (passwordHashingService.needsRehash(user.getPassword())) {
+                upgradeHash(user, request.getPassword());
+            }
+            return jwtTokenProvider.generateToken(user);
+        });
+    }
+
+    // Re-hash with the current BCrypt cost without delaying the login response
+    private void upgradeHash(User user, String rawPassword) {
+        String oldHash = user.getPassword();
+        passwordHashingService.encodeAsync(rawPassword)
+                .thenAcceptAsync(newHash -> userRepository.updatePasswordHash(user.getId(), oldHash, newHash),
+                        persistExecutor)
+                .exceptionally(e -> {
+                    log.debug("Skipped password hash upgrade for {}: {}", user.getEmail(), e.getMessage());
+                    return null;
+                });
+    }
+
+    public PasswordHashingService.Stats getHashingStats() {
+        return passwordHashingService.stats();
     }
 
     /**
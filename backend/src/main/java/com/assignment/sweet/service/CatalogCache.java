@@ -0,0 +1,227 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.model.Sweet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, size-aware in-process cache of {@link Sweet} snapshots backing
+ * {@link SweetService#getAllSweets()}.
+ *
+ * The cache can serve the full catalog only while it is "complete", i.e. a full
+ * load fitted within the entry and byte budgets and nothing has been evicted
+ * since. Admin writes replace or remove single entries, purchases apply
+ * quantity deltas (see {@link #applyQuantityDelta}), and a TTL bounds staleness against writes made by other
+ * backend replicas.
+ */
+@Slf4j
+@Component
+public class CatalogCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+
+    // Access-ordered so the eldest entry is the least recently used
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weightBytes;
+    private boolean complete;
+    private long loadedAtNanos;
+    // Bumped by every write and reload. Doubles as the catalog version and keeps
+    // a slow full load from overwriting newer entries.
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CatalogCache(
+            @Value("${catalog.cache.max-entries:10000}") int maxEntries,
+            @Value("${catalog.cache.max-bytes:16777216}") long maxBytes,
+            @Value("${catalog.cache.ttl:60s}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * @return the full catalog ordered by id, or {@code null} on a miss
+     */
+    public synchronized List<Sweet> getAll() {
+        View view = view();
+        return view != null ? view.sweets() : null;
+    }
+
+    /**
+     * Like {@link #getAll()} but also returns the version the list was read at,
+     * so derived artifacts (e.g. serialized snapshots) can be tagged with it.
+     */
+    public synchronized View view() {
+        if (!isFresh()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        List<Sweet> result = new ArrayList<>(entries.size());
+        for (Entry e : entries.values()) {
+            result.add(copy(e.sweet));
+        }
+        result.sort(Comparator.comparing(Sweet::getId));
+        return new View(result, generation);
+    }
+
+    /**
+     * @return the version of the cached catalog, or {@code -1} if the cache does
+     *         not currently hold a fresh, complete catalog
+     */
+    public synchronized long validVersion() {
+        return isFresh() ? generation : -1;
+    }
+
+    private boolean isFresh() {
+        if (complete && System.nanoTime() - loadedAtNanos > ttlNanos) {
+            complete = false;
+        }
+        return complete;
+    }
+
+    /**
+     * Generation token to pass to {@link #loadAll(List, long)} so a load that
+     * raced with a write is not marked complete.
+     */
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    public synchronized void loadAll(List<Sweet> sweets, long loadGeneration) {
+        if (loadGeneration != generation) {
+            log.debug("Catalog changed during load; not caching");
+            return;
+        }
+        // A reload may pick up changes made by other replicas
+        generation++;
+        entries.clear();
+        weightBytes = 0;
+        long evictedBefore = evictions.get();
+        for (Sweet sweet : sweets) {
+            putInternal(sweet);
+        }
+        complete = evictions.get() == evictedBefore;
+        loadedAtNanos = System.nanoTime();
+    }
+
+    /** Write-through for a single added or updated sweet. */
+    public synchronized void put(Sweet sweet) {
+        generation++;
+        if (sweet.getId() == null) {
+            return;
+        }
+        putInternal(sweet);
+    }
+
+    public synchronized void remove(Long id) {
+        generation++;
+        Entry removed = entries.remove(id);
+        if (removed != null) {
+            weightBytes -= removed.weight;
+        }
+    }
+
+    /**
+     * Applies a committed stock change without reloading the row.
+     *
+     * {@code writeGeneration} is {@link #currentGeneration()} read inside the
+     * writing transaction, before it committed. An entry cached at or before
+     * that generation was read without the change, so the delta applies. A
+     * newer entry may already include it, so it is dropped rather than
+     * counted twice. If the sweet is not cached (or was dropped), the full
+     * view can no longer be trusted and is dropped too.
+     */
+    public synchronized void applyQuantityDelta(Long id, int delta, long writeGeneration) {
+        generation++;
+        Entry entry = entries.get(id);
+        if (entry != null && entry.generation > writeGeneration) {
+            entries.remove(id);
+            weightBytes -= entry.weight;
+            entry = null;
+        }
+        if (entry == null) {
+            complete = false;
+            return;
+        }
+        entry.sweet.setQuantity(entry.sweet.getQuantity() + delta);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        weightBytes = 0;
+        complete = false;
+    }
+
+    public Stats stats() {
+        synchronized (this) {
+            return new Stats(hits.get(), misses.get(), evictions.get(), entries.size(), weightBytes);
+        }
+    }
+
+    private void putInternal(Sweet sweet) {
+        Entry fresh = new Entry(copy(sweet), generation);
+        Entry previous = entries.put(sweet.getId(), fresh);
+        weightBytes += fresh.weight - (previous != null ? previous.weight : 0);
+
+        Iterator<Map.Entry<Long, Entry>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weightBytes > maxBytes) && it.hasNext()) {
+            Map.Entry<Long, Entry> eldest = it.next();
+            it.remove();
+            weightBytes -= eldest.getValue().weight;
+            evictions.incrementAndGet();
+            complete = false;
+        }
+    }
+
+    private static Sweet copy(Sweet s) {
+        return new Sweet(s.getId(), s.getName(), s.getCategory(), s.getPrice(), s.getQuantity(), s.getDescription(),
+                s.getImageUrl(), s.getThumbnailUrl(), s.getCardImageUrl(), s.getDetailImageUrl(), s.getVersion());
+    }
+
+    // Rough retained size: object headers and boxed fields plus UTF-16 chars
+    private static long estimateBytes(Sweet s) {
+        return 160 + 2L * (length(s.getName()) + length(s.getCategory()) + length(s.getDescription())
+                + length(s.getImageUrl()) + length(s.getThumbnailUrl()) + length(s.getCardImageUrl())
+                + length(s.getDetailImageUrl()));
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static final class Entry {
+        private final Sweet sweet;
+        private final long weight;
+        // Generation the entry was cached at
+        private final long generation;
+
+        private Entry(Sweet sweet, long generation) {
+            this.sweet = sweet;
+            this.weight = estimateBytes(sweet);
+            this.generation = generation;
+        }
+    }
+
+    public record View(List<Sweet> sweets, long version) {
+    }
+
+    public record Stats(long hits, long misses, long evictions, int entries, long weightBytes) {
+    }
+}
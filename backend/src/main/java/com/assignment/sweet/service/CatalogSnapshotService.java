@@ -0,0 +1,133 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.model.Sweet;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the catalog as a pre-encoded JSON byte snapshot. The snapshot is
+ * re-serialized only when the {@link CatalogCache} version moves, i.e. when a
+ * sweet changed or the cache was reloaded.
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotService {
+
+    private final SweetService sweetService;
+    private final CatalogCache catalogCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.snapshot.gzip-min-bytes:1024}")
+    private int gzipMinBytes = 1024;
+
+    private volatile Snapshot current;
+    // Not a monitor: a rebuild may read through to the database, and blocking while
+    // holding a monitor would pin a virtual thread's carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public CatalogSnapshotService(SweetService sweetService, CatalogCache catalogCache, ObjectMapper objectMapper) {
+        this.sweetService = sweetService;
+        this.catalogCache = catalogCache;
+        this.objectMapper = objectMapper;
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.version() == catalogCache.validVersion()) {
+            return snapshot;
+        }
+        rebuildLock.lock();
+        try {
+            snapshot = current;
+            if (snapshot != null && snapshot.version() == catalogCache.validVersion()) {
+                return snapshot;
+            }
+            CatalogCache.View view = catalogCache.view();
+            if (view == null) {
+                // Miss: read through (which repopulates the cache), then take a versioned view
+                List<Sweet> sweets = sweetService.getAllSweets();
+                view = catalogCache.view();
+                if (view == null) {
+                    // Catalog not cacheable right now (over budget or racing a write)
+                    return encode(sweets, -1);
+                }
+            }
+            snapshot = encode(view.sweets(), view.version());
+            current = snapshot;
+            log.debug("Rebuilt catalog snapshot v{} ({} bytes)", snapshot.version(), snapshot.json().length);
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot encode(List<Sweet> sweets, long version) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(sweets);
+            byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+            return new Snapshot(version, json, gzip, etag(json));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize catalog", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory gzip failed", e);
+        }
+        return out.toByteArray();
+    }
+
+    // Content hash rather than the local version, so every replica (and the CDN)
+    // agrees on the ETag for identical catalogs
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @param gzip pre-compressed body, or {@code null} when the JSON is too small
+     *             to be worth compressing
+     */
+    public record Snapshot(long version, byte[] json, byte[] gzip, String etag) {
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*")) {
+                    return true;
+                }
+                // If-None-Match uses weak comparison
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
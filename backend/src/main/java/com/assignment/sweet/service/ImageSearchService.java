@@ -1,69 +1,257 @@
 package com.assignment.sweet.service;
 
+import com.assignment.sweet.cache.BoundedTtlMap;
+import com.assignment.sweet.http.OutboundHttpClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Unsplash photo search for the admin image picker.
+ *
+ * Results are cached per normalized query (trimmed, lower-cased, whitespace
+ * collapsed) for {@code unsplash.cache.ttl}, and concurrent identical
+ * queries share a single upstream call. Unsplash's
+ * {@code X-Ratelimit-Remaining} header is tracked: once it drops to
+ * {@code unsplash.rate-limit.reserve}, or on a 429, upstream calls stop for
+ * {@code unsplash.rate-limit.backoff} (or Retry-After) and searches are
+ * answered from the cache only, including expired entries.
+ *
+ * Calls go through the shared {@link OutboundHttpClient}, so lookups are
+ * non-blocking ({@link #searchImagesAsync}) and share its pooled
+ * connections and circuit breaker.
+ */
 @Slf4j
 @Service
 public class ImageSearchService {
 
-    @Value("${unsplash.access-key}")
-    private String accessKey;
+    static final String REMAINING_HEADER = "X-Ratelimit-Remaining";
+    static final String LIMIT_HEADER = "X-Ratelimit-Limit";
 
-    private final RestTemplate restTemplate;
+    private final OutboundHttpClient http;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String accessKey;
+    private final long ttlMillis;
+    private final int reserve;
+    private final long backoffMillis;
+    private final Clock clock;
 
-    public ImageSearchService(RestTemplateBuilder builder) {
-        this.restTemplate = builder
-                .setConnectTimeout(Duration.ofSeconds(5))
-                .setReadTimeout(Duration.ofSeconds(10))
-                .build();
+    // Expired entries are kept as fallbacks while Unsplash is unavailable
+    private final BoundedTtlMap<String, List<String>> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<List<String>>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile int rateLimitRemaining = -1;
+    private volatile int rateLimitLimit = -1;
+    private volatile long backoffUntilMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    @org.springframework.beans.factory.annotation.Autowired
+    public ImageSearchService(OutboundHttpClient http, ObjectMapper objectMapper,
+            @Value("${unsplash.base-url:https://api.unsplash.com}") String baseUrl,
+            @Value("${unsplash.access-key}") String accessKey,
+            @Value("${unsplash.cache.ttl:10m}") Duration ttl,
+            @Value("${unsplash.cache.max-entries:500}") int maxEntries,
+            @Value("${unsplash.rate-limit.reserve:5}") int reserve,
+            @Value("${unsplash.rate-limit.backoff:5m}") Duration backoff) {
+        this(http, objectMapper, baseUrl, accessKey, ttl, maxEntries, reserve, backoff, Clock.systemUTC());
+    }
+
+    ImageSearchService(OutboundHttpClient http, ObjectMapper objectMapper, String baseUrl, String accessKey,
+            Duration ttl, int maxEntries, int reserve, Duration backoff, Clock clock) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.accessKey = accessKey;
+        this.ttlMillis = ttl.toMillis();
+        this.reserve = reserve;
+        this.backoffMillis = backoff.toMillis();
+        this.clock = clock;
+        this.cache = new BoundedTtlMap<>(maxEntries, clock);
     }
 
     public List<String> searchImages(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            return Collections.emptyList();
+        return searchImagesAsync(query).join();
+    }
+
+    /**
+     * Never completes exceptionally: upstream failures yield the last cached
+     * result for the query, or an empty list.
+     */
+    public CompletableFuture<List<String>> searchImagesAsync(String query) {
+        String key = normalize(query);
+        if (key.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        BoundedTtlMap.Entry<List<String>> entry = cache.getEntry(key);
+        long now = clock.millis();
+        if (entry != null && entry.isLive(now)) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(entry.value());
+        }
+        misses.incrementAndGet();
+        List<String> fallback = entry != null ? entry.value() : Collections.emptyList();
+        if (now < backoffUntilMillis) {
+            // Close to (or over) the quota: serve whatever we have, even if stale
+            throttled.incrementAndGet();
+            return CompletableFuture.completedFuture(fallback);
         }
 
-        String url = UriComponentsBuilder.fromHttpUrl("https://api.unsplash.com/search/photos")
-                .queryParam("query", query.trim())
+        CompletableFuture<List<String>> call = new CompletableFuture<>();
+        CompletableFuture<List<String>> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            // Same query already on its way to Unsplash; share that result
+            coalesced.incrementAndGet();
+            return existing;
+        }
+        fetch(key).whenComplete((urls, error) -> {
+            if (error == null && urls != null) {
+                put(key, urls);
+            }
+            inFlight.remove(key, call);
+            call.complete(error == null && urls != null ? urls : fallback);
+        });
+        return call;
+    }
+
+    /**
+     * Completes with the image URLs, or {@code null} if the call failed
+     * (failures are not cached).
+     */
+    private CompletableFuture<List<String>> fetch(String query) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path("/search/photos")
+                .queryParam("query", query)
                 .queryParam("per_page", 12)
-                .toUriString();
+                .build()
+                .encode()
+                .toUri();
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Client-ID " + accessKey)
+                .header("Accept-Version", "v1")
+                .GET()
+                .build();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Client-ID " + accessKey);
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+        upstreamCalls.incrementAndGet();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::parse)
+                .exceptionally(e -> {
+                    log.error("Failed to search images from Unsplash", e);
+                    return null;
+                });
+    }
 
+    private List<String> parse(HttpResponse<byte[]> response) {
+        recordRateLimit(response.headers());
+        if (response.statusCode() == 429) {
+            rateLimitRemaining = 0;
+            backOff(retryAfterMillis(response.headers()));
+            log.warn("Unsplash rate limit exceeded; pausing searches for {} ms", backoffUntilMillis - clock.millis());
+            return null;
+        }
+        if (response.statusCode() / 100 != 2) {
+            log.error("Unsplash search failed with status {}", response.statusCode());
+            return null;
+        }
         try {
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
-            Map<String, Object> body = response.getBody();
-
-            if (body != null && body.containsKey("results")) {
-                List<Map<String, Object>> results = (List<Map<String, Object>>) body.get("results");
-                return results.stream()
-                    .map(result -> {
-                        Map<String, String> urls = (Map<String, String>) result.get("urls");
-                        return urls.get("regular");
-                    })
-                    .collect(Collectors.toList());
+            JsonNode results = objectMapper.readTree(response.body()).path("results");
+            List<String> urls = new ArrayList<>(results.size());
+            for (JsonNode result : results) {
+                JsonNode regular = result.path("urls").path("regular");
+                if (regular.isTextual()) {
+                    urls.add(regular.asText());
+                }
+            }
+            return List.copyOf(urls);
+        } catch (IOException e) {
+            log.error("Unparseable Unsplash search response", e);
+            return null;
+        }
+    }
+
+    private void recordRateLimit(HttpHeaders headers) {
+        int remaining = intHeader(headers, REMAINING_HEADER);
+        int limit = intHeader(headers, LIMIT_HEADER);
+        if (limit >= 0) {
+            rateLimitLimit = limit;
+        }
+        if (remaining >= 0) {
+            rateLimitRemaining = remaining;
+            if (remaining <= reserve) {
+                backOff(backoffMillis);
+                log.warn("Unsplash quota nearly exhausted ({} left); serving cached searches only", remaining);
             }
-        } catch (Exception e) {
-            log.error("Failed to search images from Unsplash", e);
         }
+    }
+
+    private void backOff(long millis) {
+        backoffUntilMillis = Math.max(backoffUntilMillis, clock.millis() + millis);
+    }
+
+    private long retryAfterMillis(HttpHeaders headers) {
+        int seconds = intHeader(headers, "Retry-After");
+        return seconds >= 0 ? seconds * 1000L : backoffMillis;
+    }
+
+    private static int intHeader(HttpHeaders headers, String name) {
+        String value = headers.firstValue(name).orElse(null);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void put(String key, List<String> urls) {
+        cache.put(key, urls, clock.millis() + ttlMillis);
+    }
+
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public Stats stats() {
+        long remainingBackoff = Math.max(0, backoffUntilMillis - clock.millis());
+        return new Stats(cache.size(), hits.get(), misses.get(), coalesced.get(), upstreamCalls.get(),
+                throttled.get(), rateLimitRemaining, rateLimitLimit, remainingBackoff / 1000);
+    }
 
-        return Collections.emptyList();
+    /**
+     * {@code rateLimitRemaining}/{@code rateLimitLimit} are -1 until Unsplash
+     * has reported them.
+     */
+    public record Stats(int size, long hits, long misses, long coalesced, long upstreamCalls, long throttled,
+            int rateLimitRemaining, int rateLimitLimit, long backoffSeconds) {
     }
 }
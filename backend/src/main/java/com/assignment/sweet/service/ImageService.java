@@ -1,52 +1,335 @@
 package com.assignment.sweet.service;
 
+import com.assignment.sweet.exception.FileTooLargeException;
+import com.assignment.sweet.storage.BlobStorage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+@Slf4j
 @Service
 public class ImageService {
 
-    private final Path fileStorageLocation;
+    /** Longest edge, in pixels, of each generated variant. */
+    static final int THUMBNAIL_SIZE = 160;
+    static final int CARD_SIZE = 480;
+    static final int DETAIL_SIZE = 1200;
 
-    public ImageService() {
-        this.fileStorageLocation = Paths.get("uploads").toAbsolutePath().normalize();
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    // The only extensions accepted, each with the Content-Type it is served as.
+    // Anything a browser could run as script (.html, .svg, .js, ...) is refused.
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            ".jpg", "image/jpeg",
+            ".jpeg", "image/jpeg",
+            ".png", "image/png",
+            ".gif", "image/gif",
+            ".webp", "image/webp");
+
+    private final BlobStorage storage;
+    private final ExecutorService executor;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final long maxUploadBytes;
+
+    @org.springframework.beans.factory.annotation.Autowired
+    public ImageService(BlobStorage storage,
+            @Value("${image.variants.threads:2}") int threads,
+            @Value("${image.variants.queue-capacity:32}") int queueCapacity,
+            @Value("${image.variants.jpeg-quality:0.8}") float jpegQuality,
+            @Value("${image.variants.max-pixels:40000000}") long maxPixels,
+            @Value("${upload.max-file-size:5MB}") DataSize maxUploadSize) {
+        this(storage, newExecutor(threads, queueCapacity), jpegQuality, maxPixels, maxUploadSize.toBytes());
+    }
+
+    ImageService(BlobStorage storage, ExecutorService executor, float jpegQuality, long maxPixels,
+            long maxUploadBytes) {
+        this.storage = storage;
+        this.executor = executor;
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+        this.maxUploadBytes = maxUploadBytes;
+    }
+
+    /**
+     * Public URL for a key returned by {@link #storeFile} or in
+     * {@link ImageVariants}.
+     */
+    public String publicUrl(String key) {
+        return storage.publicUrl(key);
+    }
+
+    /**
+     * Streams an upload to a staging file from the storage, then into {@link BlobStorage}
+     * under the SHA-256 of its content, e.g. {@code 3f2a...9c.jpg}. Identical
+     * uploads map to the same key and are stored once, and since a key never
+     * refers to different bytes it can be cached forever by clients. Only
+     * {@code .jpg}, {@code .jpeg}, {@code .png}, {@code .gif} and {@code .webp}
+     * names are accepted.
+     *
+     * @return the storage key
+     * @throws FileTooLargeException if the upload exceeds {@code upload.max-file-size}
+     */
+    public String storeFile(MultipartFile file) {
+        if (file.getSize() > maxUploadBytes) {
+            throw new FileTooLargeException(maxUploadBytes);
+        }
+        String fileExtension = extensionOf(file.getOriginalFilename());
+        String contentType = CONTENT_TYPES.get(fileExtension);
+        if (contentType == null) {
+            throw new RuntimeException("Only JPEG, PNG, GIF and WebP images can be uploaded");
+        }
+
+        Path temp = null;
         try {
-            Files.createDirectories(this.fileStorageLocation);
-        } catch (Exception ex) {
-            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+            temp = storage.newStagingFile();
+            String hash = streamToDisk(file, temp);
+            String fileName = hash + fileExtension;
+            // Idempotent: content already stored under this key is left untouched
+            storage.putMove(fileName, temp, contentType);
+            return fileName;
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file. Please try again!", ex);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.warn("Could not delete temporary upload {}", temp, e);
+                }
+            }
         }
     }
 
-    public String storeFile(MultipartFile file) {
-        // Normalize file name
-        String originalFileName = file.getOriginalFilename();
-        String fileExtension = "";
-        if (originalFileName != null && originalFileName.contains(".")) {
-            fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+    // Channel-to-channel copy through one reused direct buffer, hashing as it goes
+    private String streamToDisk(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_BYTES);
+        long written = 0;
+        try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+                FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                written += buffer.remaining();
+                if (written > maxUploadBytes) {
+                    // Declared size can't be trusted; enforce the limit on the bytes actually read
+                    throw new FileTooLargeException(maxUploadBytes);
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String extensionOf(String originalFileName) {
+        if (originalFileName == null || !originalFileName.contains(".")) {
+            return "";
+        }
+        return originalFileName.substring(originalFileName.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
+    }
 
-        String fileName = UUID.randomUUID().toString() + fileExtension;
+    /**
+     * Generates the size variants of a stored upload on the image pool. The
+     * future fails if the pool is saturated or the file is not a decodable
+     * image; callers keep serving the original in that case.
+     */
+    public CompletableFuture<ImageVariants> createVariantsAsync(String fileName) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return createVariants(fileName);
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Image pool saturated; serving original only for {}", fileName);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
+    /**
+     * Decodes the original once and writes thumbnail, card and detail variants
+     * alongside it in storage. Variants are re-encoded from pixels only, so EXIF/XMP
+     * metadata (GPS, camera serials, ...) is never copied. Opaque images are
+     * written as JPEG, images with transparency as PNG.
+     */
+    ImageVariants createVariants(String fileName) throws IOException {
         try {
-            // Check if the file's name contains invalid characters
-            if (fileName.contains("..")) {
-                throw new RuntimeException("Sorry! Filename contains invalid path sequence " + fileName);
+            BlobStorage.checkKey(fileName);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+        String base = fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.')) : fileName;
+        // Content-addressed names: stored variants are for identical bytes.
+        // The detail variant is written last, so its presence implies the others.
+        for (String ext : new String[] { ".jpg", ".png" }) {
+            if (storage.exists(base + "-detail" + ext)) {
+                return new ImageVariants(base + "-thumb" + ext, base + "-card" + ext, base + "-detail" + ext);
             }
+        }
+        BufferedImage original = decode(fileName);
+        boolean alpha = original.getColorModel().hasAlpha();
+        String ext = alpha ? ".png" : ".jpg";
 
-            // Copy file to the target location (Replacing existing file with the same name)
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+        BufferedImage detail = scaleToFit(original, DETAIL_SIZE, alpha);
+        BufferedImage card = scaleToFit(detail, CARD_SIZE, alpha);
+        BufferedImage thumbnail = scaleToFit(card, THUMBNAIL_SIZE, alpha);
 
-            return fileName;
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
+        ImageVariants variants = new ImageVariants(base + "-thumb" + ext, base + "-card" + ext,
+                base + "-detail" + ext);
+        write(thumbnail, variants.thumbnail(), alpha);
+        write(card, variants.card(), alpha);
+        write(detail, variants.detail(), alpha);
+        return variants;
+    }
+
+    private BufferedImage decode(String key) throws IOException {
+        try (InputStream raw = storage.open(key);
+                ImageInputStream in = ImageIO.createImageInputStream(raw)) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format: " + key);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                // Check dimensions from the header before allocating the raster
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IOException("Image too large to process: " + pixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
         }
     }
+
+    private static BufferedImage scaleToFit(BufferedImage src, int maxEdge, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int w = src.getWidth();
+        int h = src.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(w, h));
+        int targetW = Math.max(1, (int) Math.round(w * scale));
+        int targetH = Math.max(1, (int) Math.round(h * scale));
+
+        // Halve in steps; a single bilinear pass from a large source aliases badly
+        BufferedImage current = src;
+        do {
+            w = Math.max(targetW, w / 2);
+            h = Math.max(targetH, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != targetW || h != targetH);
+        return current;
+    }
+
+    // Encoded to a staging file, then handed to storage in one piece
+    private void write(BufferedImage image, String key, boolean alpha) throws IOException {
+        Path temp = storage.newStagingFile();
+        try {
+            encode(image, temp, alpha);
+            storage.putMove(key, temp, alpha ? "image/png" : "image/jpeg");
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void encode(BufferedImage image, Path target, boolean alpha) throws IOException {
+        if (alpha) {
+            ImageIO.write(image, "png", target.toFile());
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        if (param.canWriteProgressive()) {
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        }
+        Files.deleteIfExists(target);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static ExecutorService newExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-variants-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Storage keys of the generated variants. */
+    public record ImageVariants(String thumbnail, String card, String detail) {
+    }
 }
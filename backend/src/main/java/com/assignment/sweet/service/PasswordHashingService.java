@@ -0,0 +1,161 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, bounded pool.
+ *
+ * BCrypt is deliberately CPU-expensive, so a login burst on the servlet
+ * threads would starve every other endpoint. Here at most {@code threads}
+ * hashes run at once and at most {@code queue-capacity} wait; anything beyond
+ * that is rejected immediately with {@link TooManyRequestsException} (429).
+ *
+ * The request path uses the async variants, so the login and register
+ * endpoints release their servlet thread while a hash is queued or running.
+ * A hash that has not finished within {@code timeout} fails with the same
+ * 429, and if it has not started yet it is skipped.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalHashNanos = new AtomicLong();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    @org.springframework.beans.factory.annotation.Autowired
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.hashing.timeout:10s}") Duration timeout) {
+        this(passwordEncoder, newExecutor(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity), timeout);
+    }
+
+    PasswordHashingService(PasswordEncoder passwordEncoder, ThreadPoolExecutor executor, Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Blocking variants for callers off the request path
+    public String encode(String rawPassword) {
+        return await(encodeAsync(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(matchesAsync(rawPassword, encodedPassword));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    // Never throws: a full pool or a timeout completes the future with TooManyRequestsException
+    private <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (result.isDone()) {
+                    // Caller already timed out; don't burn CPU on an abandoned hash
+                    return;
+                }
+                long start = System.nanoTime();
+                T value;
+                try {
+                    value = task.call();
+                } catch (Throwable t) {
+                    record(System.nanoTime() - start);
+                    result.completeExceptionally(t);
+                    return;
+                }
+                record(System.nanoTime() - start);
+                result.complete(value);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(
+                    new TooManyRequestsException("Too many login attempts in progress, please retry shortly", 1));
+        }
+        return result.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS).exceptionallyCompose(e -> {
+            if (e instanceof TimeoutException) {
+                rejected.incrementAndGet();
+                return CompletableFuture.failedFuture(
+                        new TooManyRequestsException("Login service is busy, please retry shortly", 1));
+            }
+            return CompletableFuture.failedFuture(e);
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void record(long elapsedNanos) {
+        completed.incrementAndGet();
+        totalHashNanos.addAndGet(elapsedNanos);
+        maxHashNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    public Stats stats() {
+        long done = completed.get();
+        return new Stats(executor.getQueue().size(), executor.getActiveCount(), executor.getMaximumPoolSize(), done,
+                rejected.get(), done > 0 ? totalHashNanos.get() / done / 1_000_000.0 : 0,
+                maxHashNanos.get() / 1_000_000.0);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static ThreadPoolExecutor newExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public record Stats(int queueDepth, int activeThreads, int maxThreads, long completed, long rejected,
+            double avgHashMillis, double maxHashMillis) {
+    }
+}
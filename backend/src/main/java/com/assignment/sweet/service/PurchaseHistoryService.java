@@ -0,0 +1,105 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.dto.PurchaseHistoryItem;
+import com.assignment.sweet.dto.PurchasePageResponse;
+import com.assignment.sweet.dto.PurchaseSummary;
+import com.assignment.sweet.model.Purchase;
+import com.assignment.sweet.repository.PurchaseRepository;
+import com.assignment.sweet.repository.PurchaseSpecifications;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Newest-first, keyset-paginated purchase history. Every page is a bounded
+ * index range scan, so its cost does not grow with the customer's total
+ * number of purchases.
+ */
+@Service
+public class PurchaseHistoryService {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final PurchaseRepository purchaseRepository;
+
+    public PurchaseHistoryService(PurchaseRepository purchaseRepository) {
+        this.purchaseRepository = purchaseRepository;
+    }
+
+    public PurchasePageResponse getCustomerHistory(String customerEmail, String cursor, Integer size) {
+        return page(PurchaseSpecifications.byCustomer(customerEmail), cursor, size);
+    }
+
+    public PurchaseSummary getCustomerSummary(String customerEmail) {
+        return purchaseRepository.summarizeByCustomer(customerEmail);
+    }
+
+    /**
+     * Admin view across all customers. {@code from} is inclusive, {@code to}
+     * exclusive; all filters are optional.
+     */
+    public PurchasePageResponse getAllHistory(LocalDateTime from, LocalDateTime to, Long sweetId,
+            String customerEmail, String cursor, Integer size) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new RuntimeException("'from' must be before 'to'");
+        }
+        Specification<Purchase> spec = Specification.where(null);
+        if (customerEmail != null && !customerEmail.isBlank()) {
+            spec = spec.and(PurchaseSpecifications.byCustomer(customerEmail.trim()));
+        }
+        if (sweetId != null) {
+            spec = spec.and(PurchaseSpecifications.forSweet(sweetId));
+        }
+        if (from != null) {
+            spec = spec.and(PurchaseSpecifications.createdFrom(from));
+        }
+        if (to != null) {
+            spec = spec.and(PurchaseSpecifications.createdBefore(to));
+        }
+        return page(spec, cursor, size);
+    }
+
+    private PurchasePageResponse page(Specification<Purchase> spec, String cursor, Integer size) {
+        int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        if (cursor != null && !cursor.isBlank()) {
+            Position position = decodeCursor(cursor);
+            spec = spec.and(PurchaseSpecifications.before(position.createdDate(), position.id()));
+        }
+
+        // Projected in the query: rows come back as DTOs, not managed entities
+        List<PurchaseHistoryItem> rows = purchaseRepository.findHistory(spec, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<PurchaseHistoryItem> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1)) : null;
+        return new PurchasePageResponse(items, nextCursor, hasMore);
+    }
+
+    // Cursor format (base64url): "<id>:<createdDate ISO-8601>"
+    private static String encodeCursor(PurchaseHistoryItem last) {
+        String raw = last.getId() + ":" + last.getCreatedDate();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep <= 0) {
+                throw new IllegalArgumentException("missing separator");
+            }
+            return new Position(Long.parseLong(raw.substring(0, sep)), LocalDateTime.parse(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private record Position(Long id, LocalDateTime createdDate) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.dto.ReservationResponse;
+import com.assignment.sweet.exception.ReservationNotHeldException;
+import com.assignment.sweet.model.Purchase;
+import com.assignment.sweet.model.Reservation;
+import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Checkout holds: a hold takes units out of available stock for a limited
+ * time, and is then either confirmed into a {@link Purchase} or returned to
+ * stock (cancelled, or expired after {@code reservations.ttl}).
+ *
+ * Placing a hold moves the units from {@code sweets.quantity} to
+ * {@code sweets.reserved} with a conditional UPDATE, so holds never oversell
+ * and the catalog shows what can still be bought. The hold itself is a row in
+ * {@code reservations}, written in the same transaction, so every replica
+ * sees the same holds. Confirming, cancelling and expiring all start by
+ * deleting the row; only the caller whose delete removed it touches the
+ * units, so each hold is settled exactly once however many replicas race.
+ *
+ * {@link ReservationSweeper} expires due holds and periodically reconciles
+ * {@code sweets.reserved} against the rows.
+ */
+@Slf4j
+@Service
+public class ReservationService {
+
+    private final SweetService sweetService;
+    private final ReservationRepository reservationRepository;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public ReservationService(SweetService sweetService, ReservationRepository reservationRepository,
+            @Value("${reservations.ttl:10m}") Duration ttl) {
+        this(sweetService, reservationRepository, ttl, Clock.systemUTC());
+    }
+
+    ReservationService(SweetService sweetService, ReservationRepository reservationRepository, Duration ttl,
+            Clock clock) {
+        this.sweetService = sweetService;
+        this.reservationRepository = reservationRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Transactional
+    public ReservationResponse reserve(Long sweetId, Integer quantity, String owner) {
+        if (sweetId == null) {
+            throw new RuntimeException("Sweet id is required");
+        }
+        if (quantity == null || quantity <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
+        Sweet sweet = sweetService.reserveStock(sweetId, quantity);
+        Reservation hold = reservationRepository.save(
+                new Reservation(null, sweetId, quantity, owner, clock.instant().plus(ttl)));
+        log.debug("Reserved {} of sweet {} for {} until {}", quantity, sweetId, owner, hold.getExpiresAt());
+        return new ReservationResponse(hold.getId(), sweetId, sweet.getName(), quantity, hold.getExpiresAt());
+    }
+
+    /**
+     * Buys the held units at the sweet's current price. An expired hold cannot
+     * be confirmed; it stays for the sweeper to return to stock.
+     */
+    @Transactional(noRollbackFor = ReservationNotHeldException.class)
+    public Purchase confirm(long reservationId, String owner) {
+        Reservation hold = find(reservationId, owner);
+        if (!hold.getExpiresAt().isAfter(clock.instant())) {
+            throw new RuntimeException("Reservation expired");
+        }
+        claim(hold);
+        // If the units are no longer reserved the hold is still removed, and nothing is released
+        return sweetService.purchaseReservedStock(hold.getSweetId(), hold.getQuantity(), owner);
+    }
+
+    @Transactional
+    public void cancel(long reservationId, String owner) {
+        Reservation hold = find(reservationId, owner);
+        claim(hold);
+        releaseUnits(hold);
+    }
+
+    /**
+     * Due holds, oldest first, at most {@code limit} of them.
+     */
+    public List<Reservation> findExpired(int limit) {
+        return reservationRepository.findByExpiresAtLessThanEqualOrderByExpiresAtAsc(clock.instant(),
+                PageRequest.of(0, limit));
+    }
+
+    /**
+     * Returns a due hold to stock.
+     *
+     * @return false if the hold was already confirmed, cancelled or expired
+     */
+    @Transactional
+    public boolean expire(Reservation hold) {
+        if (reservationRepository.claim(hold.getId()) == 0) {
+            return false;
+        }
+        releaseUnits(hold);
+        return true;
+    }
+
+    /**
+     * Returns to stock any units in the sweet's {@code reserved} count that no
+     * hold accounts for (e.g. written by hand, or by a version that kept holds
+     * in memory). The sweet's row is locked first, so holds placed or settled
+     * concurrently on any replica are counted consistently.
+     *
+     * @return number of units returned to stock
+     */
+    @Transactional
+    public int reconcile(Long sweetId) {
+        Integer reserved = sweetService.lockReservedStock(sweetId);
+        if (reserved == null) {
+            return 0;
+        }
+        long held = reservationRepository.sumQuantityBySweetId(sweetId);
+        long orphaned = reserved - held;
+        if (orphaned > 0 && sweetService.releaseReservedStock(sweetId, (int) orphaned)) {
+            log.info("Returned {} orphaned reserved unit(s) of sweet {} to stock", orphaned, sweetId);
+            return (int) orphaned;
+        }
+        if (orphaned < 0) {
+            log.warn("Sweet {} has {} reserved unit(s) but holds cover {}", sweetId, reserved, held);
+        }
+        return 0;
+    }
+
+    public long activeReservations() {
+        return reservationRepository.count();
+    }
+
+    public long heldUnits(Long sweetId) {
+        return reservationRepository.sumQuantityBySweetId(sweetId);
+    }
+
+    private Reservation find(long reservationId, String owner) {
+        return reservationRepository.findById(reservationId)
+                .filter(hold -> hold.getCustomerEmail().equals(owner))
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+    }
+
+    // Loses to a concurrent confirm, cancel or expiry on any replica
+    private void claim(Reservation hold) {
+        if (reservationRepository.claim(hold.getId()) == 0) {
+            throw new RuntimeException("Reservation not found");
+        }
+    }
+
+    private void releaseUnits(Reservation hold) {
+        if (!sweetService.releaseReservedStock(hold.getSweetId(), hold.getQuantity())) {
+            log.debug("Reservation {} released nothing; sweet {} is gone", hold.getId(), hold.getSweetId());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.model.Reservation;
+import com.assignment.sweet.repository.SweetRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background upkeep for {@link ReservationService}: expires due holds every
+ * {@code reservations.sweep-interval} and reconciles reserved stock every
+ * {@code reservations.reconcile-interval}.
+ *
+ * Holds are rows shared by all replicas and every step claims or locks what
+ * it changes, so each replica can run its own sweeper: a hold expired by one
+ * is skipped by the others. Holds survive restarts, so nothing is released on
+ * shutdown.
+ */
+@Slf4j
+@Component
+public class ReservationSweeper {
+
+    // Holds read per query; the sweeper keeps going while batches come back full
+    static final int SWEEP_BATCH_SIZE = 100;
+
+    private final ReservationService reservationService;
+    private final SweetService sweetService;
+    private final ScheduledExecutorService scheduler;
+    private final Duration sweepInterval;
+    private final Duration reconcileInterval;
+
+    @Autowired
+    public ReservationSweeper(ReservationService reservationService, SweetService sweetService,
+            @Value("${reservations.sweep-interval:1s}") Duration sweepInterval,
+            @Value("${reservations.reconcile-interval:5m}") Duration reconcileInterval) {
+        this(reservationService, sweetService, Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reservation-sweeper");
+            t.setDaemon(true);
+            return t;
+        }), sweepInterval, reconcileInterval);
+    }
+
+    ReservationSweeper(ReservationService reservationService, SweetService sweetService,
+            ScheduledExecutorService scheduler, Duration sweepInterval, Duration reconcileInterval) {
+        this.reservationService = reservationService;
+        this.sweetService = sweetService;
+        this.scheduler = scheduler;
+        this.sweepInterval = sweepInterval;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    @PostConstruct
+    public void start() {
+        long sweep = sweepInterval.toMillis();
+        long reconcile = reconcileInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> runSafely("sweep", this::sweepExpired), sweep, sweep,
+                TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> runSafely("reconciliation", this::reconcile), reconcile, reconcile,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Returns due holds to stock, each in its own transaction. Only expired
+     * rows are read, through the expires_at index.
+     *
+     * @return number of holds expired by this call
+     */
+    public int sweepExpired() {
+        int expired = 0;
+        List<Reservation> due;
+        do {
+            due = reservationService.findExpired(SWEEP_BATCH_SIZE);
+            for (Reservation hold : due) {
+                if (reservationService.expire(hold)) {
+                    expired++;
+                }
+            }
+        } while (due.size() == SWEEP_BATCH_SIZE);
+        if (expired > 0) {
+            log.debug("Expired {} reservation(s)", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Reconciles every sweet with reserved units.
+     *
+     * @return number of units returned to stock
+     */
+    public int reconcile() {
+        int returned = 0;
+        for (SweetRepository.ReservedStock row : sweetService.findReservedStock()) {
+            returned += reservationService.reconcile(row.getId());
+        }
+        return returned;
+    }
+
+    private static void runSafely(String task, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.warn("Reservation {} failed: {}", task, e.getMessage());
+        }
+    }
+}
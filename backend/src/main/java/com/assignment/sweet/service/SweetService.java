@@ -1,96 +1,542 @@
 package com.assignment.sweet.service;
 
+import com.assignment.sweet.dto.CheckoutItem;
+import com.assignment.sweet.dto.CheckoutLineResult;
+import com.assignment.sweet.dto.CheckoutResponse;
+import com.assignment.sweet.dto.SweetPageResponse;
+import com.assignment.sweet.dto.SweetSortOrder;
+import com.assignment.sweet.exception.ReservationNotHeldException;
+import com.assignment.sweet.exception.SweetConflictException;
+import com.assignment.sweet.model.Purchase;
 import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.PurchaseRepository;
 import com.assignment.sweet.repository.SweetRepository;
+import com.assignment.sweet.repository.SweetSpecifications;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @Slf4j
 public class SweetService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_CHECKOUT_LINES = 100;
+    // Attempts for an update without a version that keeps racing other edits
+    static final int MAX_UPDATE_ATTEMPTS = 3;
+
     private final SweetRepository sweetRepository;
     private final ImageService imageService;
-    private final com.assignment.sweet.repository.PurchaseRepository purchaseRepository;
+    private final PurchaseRepository purchaseRepository;
+    private final CatalogCache catalogCache;
+    // One transaction per update attempt, so a retry starts from a clean session
+    private final TransactionTemplate transactionTemplate;
 
     public SweetService(SweetRepository sweetRepository, ImageService imageService,
-            com.assignment.sweet.repository.PurchaseRepository purchaseRepository) {
+            PurchaseRepository purchaseRepository, CatalogCache catalogCache,
+            PlatformTransactionManager transactionManager) {
         this.sweetRepository = sweetRepository;
         this.imageService = imageService;
         this.purchaseRepository = purchaseRepository;
+        this.catalogCache = catalogCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Read-through: served from {@link CatalogCache} when it holds the complete
+     * catalog, otherwise loaded from the database and cached.
+     */
     public List<Sweet> getAllSweets() {
-        return sweetRepository.findAll();
+        List<Sweet> cached = catalogCache.getAll();
+        if (cached != null) {
+            return cached;
+        }
+        long generation = catalogCache.currentGeneration();
+        List<Sweet> sweets = sweetRepository.findAll();
+        catalogCache.loadAll(sweets, generation);
+        return sweets;
+    }
+
+    /**
+     * Keyset-paginated catalog query. Filters and ordering run in SQL and each call
+     * reads at most {@code size + 1} rows, regardless of catalog size.
+     */
+    public SweetPageResponse searchSweets(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+            SweetSortOrder sort, String cursor, Integer size) {
+        SweetSortOrder order = sort != null ? sort : SweetSortOrder.NAME_ASC;
+        int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        Specification<Sweet> spec = Specification.where(null);
+        if (name != null && !name.isBlank()) {
+            spec = spec.and(SweetSpecifications.nameContains(name.trim()));
+        }
+        if (category != null && !category.isBlank() && !"all".equalsIgnoreCase(category)) {
+            spec = spec.and(SweetSpecifications.inCategory(category.trim()));
+        }
+        if (minPrice != null) {
+            spec = spec.and(SweetSpecifications.priceAtLeast(minPrice));
+        }
+        if (maxPrice != null) {
+            spec = spec.and(SweetSpecifications.priceAtMost(maxPrice));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(decodeCursor(order, cursor));
+        }
+
+        Sort sortBy = toSort(order);
+        List<Sweet> rows = sweetRepository.findBy(spec, q -> q.sortBy(sortBy).limit(pageSize + 1).all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Sweet> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(order, items.get(items.size() - 1)) : null;
+        return new SweetPageResponse(items, nextCursor, hasMore);
+    }
+
+    private static Sort toSort(SweetSortOrder order) {
+        switch (order) {
+            case PRICE_ASC:
+                return Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id"));
+            case PRICE_DESC:
+                return Sort.by(Sort.Order.desc("price"), Sort.Order.desc("id"));
+            case NEWEST:
+                return Sort.by(Sort.Order.desc("id"));
+            case NAME_ASC:
+            default:
+                return Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id"));
+        }
+    }
+
+    // Cursor format (base64url): "<sort order>:<id>:<sort key>"
+    private static String encodeCursor(SweetSortOrder order, Sweet last) {
+        String key;
+        switch (order) {
+            case PRICE_ASC:
+            case PRICE_DESC:
+                key = last.getPrice().toPlainString();
+                break;
+            case NEWEST:
+                key = "";
+                break;
+            case NAME_ASC:
+            default:
+                key = last.getName();
+        }
+        String raw = order.name() + ":" + last.getId() + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor into the keyset predicate for {@code order}. Everything is
+     * checked here, so a malformed cursor, or one issued for another sort
+     * order, is rejected before any query runs.
+     */
+    private static Specification<Sweet> decodeCursor(SweetSortOrder order, String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(":", 3);
+            if (parts.length != 3 || !order.name().equals(parts[0])) {
+                throw new IllegalArgumentException("cursor does not match sort order");
+            }
+            Long id = Long.valueOf(parts[1]);
+            String key = parts[2];
+            switch (order) {
+                case PRICE_ASC:
+                    return SweetSpecifications.afterPriceAscending(new BigDecimal(key), id);
+                case PRICE_DESC:
+                    return SweetSpecifications.afterPriceDescending(new BigDecimal(key), id);
+                case NEWEST:
+                    return SweetSpecifications.olderThan(id);
+                case NAME_ASC:
+                default:
+                    return SweetSpecifications.afterName(key, id);
+            }
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException included
+            throw new RuntimeException("Invalid cursor");
+        }
     }
 
-    public Sweet addSweet(Sweet sweet, org.springframework.web.multipart.MultipartFile imageFile) {
+    public Sweet addSweet(Sweet sweet, MultipartFile imageFile) {
+        // Always a new row at version 0; variants are only ever set by the image pipeline
+        sweet.setId(null);
+        sweet.setVersion(null);
+        clearImageVariants(sweet);
+        String fileName = null;
         if (imageFile != null && !imageFile.isEmpty()) {
-            String fileName = imageService.storeFile(imageFile);
-            // Assuming the server runs on localhost:8080. In prod, this should be
-            // configurable.
-            sweet.setImageUrl("http://localhost:8080/uploads/" + fileName);
+            fileName = imageService.storeFile(imageFile);
+            sweet.setImageUrl(imageService.publicUrl(fileName));
         }
-        return sweetRepository.save(sweet);
+        Sweet saved = sweetRepository.save(sweet);
+        afterCommit(() -> catalogCache.put(saved));
+        if (fileName != null) {
+            String uploaded = fileName;
+            afterCommit(() -> generateImageVariants(saved.getId(), saved.getImageUrl(), uploaded));
+        }
+        return saved;
+    }
+
+    /**
+     * Resizes an uploaded image on the image pool and records the variant URLs
+     * once done. Until then (or if processing fails) clients fall back to the
+     * original {@code imageUrl}.
+     */
+    private void generateImageVariants(Long id, String imageUrl, String fileName) {
+        imageService.createVariantsAsync(fileName)
+                .thenAccept(v -> {
+                    int updated = sweetRepository.updateImageVariants(id, imageUrl,
+                            imageService.publicUrl(v.thumbnail()), imageService.publicUrl(v.card()),
+                            imageService.publicUrl(v.detail()));
+                    if (updated > 0) {
+                        sweetRepository.findById(id).ifPresent(catalogCache::put);
+                    }
+                })
+                .exceptionally(e -> {
+                    log.warn("Could not generate image variants for sweet {}: {}", id, e.getMessage());
+                    return null;
+                });
+    }
+
+    private static void clearImageVariants(Sweet sweet) {
+        sweet.setThumbnailUrl(null);
+        sweet.setCardImageUrl(null);
+        sweet.setDetailImageUrl(null);
     }
 
+    /**
+     * Purchases stock with a single conditional UPDATE and records the purchase in
+     * the same transaction. Under contention the UPDATE either claims the units or
+     * matches no row, so stock never goes negative.
+     */
+    @Transactional
     public Sweet purchaseSweet(Long id, Integer quantity, String customerEmail) {
         log.debug("Purchasing {} sweet(s) {} for user: {}", quantity, id, customerEmail);
-        Sweet sweet = sweetRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Sweet not found"));
+        if (quantity == null || quantity <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
 
-        if (sweet.getQuantity() < quantity) {
+        if (sweetRepository.decrementStock(id, quantity) == 0) {
+            if (!sweetRepository.existsById(id)) {
+                throw new RuntimeException("Sweet not found");
+            }
             throw new RuntimeException("Insufficient stock");
         }
 
-        sweet.setQuantity(sweet.getQuantity() - quantity);
-        Sweet savedSweet = sweetRepository.save(sweet);
+        Sweet savedSweet = sweetRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Sweet not found"));
 
         // Record purchase
-        com.assignment.sweet.model.Purchase purchase = new com.assignment.sweet.model.Purchase();
+        Purchase purchase = new Purchase();
         purchase.setSweetId(savedSweet.getId());
         purchase.setSweetName(savedSweet.getName());
         purchase.setQuantity(quantity);
         purchase.setPricePerUnit(savedSweet.getPrice());
-        purchase.setTotalPrice(savedSweet.getPrice().multiply(java.math.BigDecimal.valueOf(quantity)));
+        purchase.setTotalPrice(savedSweet.getPrice().multiply(BigDecimal.valueOf(quantity)));
         purchase.setCustomerEmail(customerEmail);
         purchaseRepository.save(purchase);
         log.debug("Purchase saved for {}", customerEmail);
+        afterCommitQuantityDelta(id, -quantity);
 
         return savedSweet;
     }
 
-    public Sweet restockSweet(Long id, Integer quantity) {
+    /**
+     * Buys every line of a cart in one transaction. Stock is claimed with the same
+     * conditional UPDATE as {@link #purchaseSweet}, one per distinct sweet and in
+     * ascending id order, so concurrent checkouts lock rows in the same order and
+     * cannot deadlock. Lines that cannot be fulfilled are reported as failed and
+     * the rest are still bought; lines for the same sweet succeed or fail
+     * together. Purchase rows are inserted as JDBC batches (see
+     * {@code hibernate.jdbc.batch_size}).
+     */
+    @Transactional
+    public CheckoutResponse checkout(List<CheckoutItem> items, String customerEmail) {
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("Cart is empty");
+        }
+        if (items.size() > MAX_CHECKOUT_LINES) {
+            throw new RuntimeException("Cart cannot have more than " + MAX_CHECKOUT_LINES + " lines");
+        }
+        log.debug("Checking out {} line(s) for user: {}", items.size(), customerEmail);
+
+        // Units per sweet, iterated in ascending id order (the lock order)
+        Map<Long, Integer> requested = new TreeMap<>();
+        for (CheckoutItem item : items) {
+            if (item != null && item.getSweetId() != null && item.getQuantity() != null && item.getQuantity() > 0) {
+                requested.merge(item.getSweetId(), item.getQuantity(), Math::addExact);
+            }
+        }
+        Set<Long> claimed = new HashSet<>();
+        requested.forEach((id, quantity) -> {
+            if (sweetRepository.decrementStock(id, quantity) == 1) {
+                claimed.add(id);
+            }
+        });
+
+        Map<Long, Sweet> sweets = new HashMap<>();
+        if (!requested.isEmpty()) {
+            sweetRepository.findAllById(requested.keySet()).forEach(s -> sweets.put(s.getId(), s));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Purchase> purchases = new ArrayList<>();
+        List<CheckoutLineResult> lines = new ArrayList<>(items.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (CheckoutItem item : items) {
+            Long id = item != null ? item.getSweetId() : null;
+            Integer quantity = item != null ? item.getQuantity() : null;
+            String error = null;
+            if (id == null) {
+                error = "Sweet id is required";
+            } else if (quantity == null || quantity <= 0) {
+                error = "Quantity must be positive";
+            } else if (!claimed.contains(id)) {
+                error = sweets.containsKey(id) ? "Insufficient stock" : "Sweet not found";
+            }
+            if (error != null) {
+                lines.add(new CheckoutLineResult(id, quantity, false, null, null, error));
+                continue;
+            }
+
+            Sweet sweet = sweets.get(id);
+            Purchase purchase = new Purchase();
+            purchase.setSweetId(id);
+            purchase.setSweetName(sweet.getName());
+            purchase.setQuantity(quantity);
+            purchase.setPricePerUnit(sweet.getPrice());
+            purchase.setTotalPrice(sweet.getPrice().multiply(BigDecimal.valueOf(quantity)));
+            purchase.setCustomerEmail(customerEmail);
+            purchase.setCreatedDate(now);
+            purchases.add(purchase);
+            total = total.add(purchase.getTotalPrice());
+            lines.add(new CheckoutLineResult(id, quantity, true, sweet.getName(), purchase.getTotalPrice(), null));
+        }
+
+        purchaseRepository.saveAll(purchases);
+        for (Long id : claimed) {
+            int quantity = requested.get(id);
+            afterCommitQuantityDelta(id, -quantity);
+        }
+        log.debug("Checkout for {}: {} of {} line(s) purchased", customerEmail, purchases.size(), items.size());
+        return new CheckoutResponse(lines, purchases.size(), total);
+    }
+
+    /**
+     * Moves units from available stock into the sweet's reserved count for a
+     * checkout hold (see {@link ReservationService}).
+     */
+    @Transactional
+    public Sweet reserveStock(Long id, int quantity) {
+        if (sweetRepository.reserveStock(id, quantity) == 0) {
+            if (!sweetRepository.existsById(id)) {
+                throw new RuntimeException("Sweet not found");
+            }
+            throw new RuntimeException("Insufficient stock");
+        }
+        Sweet sweet = sweetRepository.findById(id).orElseThrow(() -> new RuntimeException("Sweet not found"));
+        afterCommitQuantityDelta(id, -quantity);
+        return sweet;
+    }
+
+    /**
+     * Returns reserved units to available stock.
+     *
+     * @return false if the sweet no longer exists or holds fewer reserved units
+     */
+    @Transactional
+    public boolean releaseReservedStock(Long id, int quantity) {
+        if (sweetRepository.releaseReservedStock(id, quantity) == 0) {
+            return false;
+        }
+        afterCommitQuantityDelta(id, quantity);
+        return true;
+    }
+
+    /**
+     * Records a purchase of reserved units. Available stock is unchanged, since
+     * the units left it when they were reserved.
+     *
+     * @throws ReservationNotHeldException if fewer
+     *         than {@code quantity} units are still reserved; nothing has been
+     *         written then, so the caller's transaction may still commit
+     */
+    @Transactional(noRollbackFor = ReservationNotHeldException.class)
+    public Purchase purchaseReservedStock(Long id, int quantity, String customerEmail) {
+        if (sweetRepository.consumeReservedStock(id, quantity) == 0) {
+            if (!sweetRepository.existsById(id)) {
+                throw new RuntimeException("Sweet not found");
+            }
+            throw new ReservationNotHeldException();
+        }
         Sweet sweet = sweetRepository.findById(id).orElseThrow(() -> new RuntimeException("Sweet not found"));
-        sweet.setQuantity(sweet.getQuantity() + quantity);
-        return sweetRepository.save(sweet);
+
+        Purchase purchase = new Purchase();
+        purchase.setSweetId(id);
+        purchase.setSweetName(sweet.getName());
+        purchase.setQuantity(quantity);
+        purchase.setPricePerUnit(sweet.getPrice());
+        purchase.setTotalPrice(sweet.getPrice().multiply(BigDecimal.valueOf(quantity)));
+        purchase.setCustomerEmail(customerEmail);
+        return purchaseRepository.save(purchase);
+    }
+
+    public List<SweetRepository.ReservedStock> findReservedStock() {
+        return sweetRepository.findReservedStock();
+    }
+
+    /**
+     * Reserved units of a sweet, with its row locked for the rest of the
+     * caller's transaction.
+     *
+     * @return null if the sweet no longer exists
+     */
+    @Transactional
+    public Integer lockReservedStock(Long id) {
+        return sweetRepository.lockReservedStock(id);
+    }
+
+    /**
+     * Adds stock with a relative UPDATE, so a restock that overlaps purchases
+     * keeps their decrements.
+     */
+    @Transactional
+    public Sweet restockSweet(Long id, Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
+        if (sweetRepository.incrementStock(id, quantity) == 0) {
+            throw new RuntimeException("Sweet not found");
+        }
+        Sweet saved = sweetRepository.findById(id).orElseThrow(() -> new RuntimeException("Sweet not found"));
+        afterCommitQuantityDelta(id, quantity);
+        return saved;
     }
 
-    public Sweet updateSweet(Long id, Sweet sweetDetails, org.springframework.web.multipart.MultipartFile imageFile) {
+    /**
+     * Patch update of a sweet's details: null fields are left unchanged and only
+     * the columns that actually change are written. Stock is not editable here
+     * ({@code quantity} is ignored); it moves through purchases and
+     * {@link #restockSweet}, so edits and purchases never overwrite each other.
+     *
+     * If {@code changes} carries a {@code version}, it must match the current
+     * one; a stale version, or another edit committed while this one was being
+     * applied, raises {@link SweetConflictException} with the current state.
+     * Without a version, an edit that races another one is re-applied to the
+     * fresh row (last writer wins for the fields it sets).
+     */
+    public Sweet updateSweet(Long id, Sweet changes, MultipartFile imageFile) {
         Sweet sweet = sweetRepository.findById(id).orElseThrow(() -> new RuntimeException("Sweet not found"));
-        sweet.setName(sweetDetails.getName());
-        sweet.setCategory(sweetDetails.getCategory());
-        sweet.setPrice(sweetDetails.getPrice());
-        sweet.setQuantity(sweetDetails.getQuantity());
-        sweet.setDescription(sweetDetails.getDescription());
+        if (changes.getVersion() != null && !changes.getVersion().equals(sweet.getVersion())) {
+            throw new SweetConflictException(sweet);
+        }
 
+        String fileName = null;
+        String uploadedUrl = null;
         if (imageFile != null && !imageFile.isEmpty()) {
-            String fileName = imageService.storeFile(imageFile);
-            sweet.setImageUrl("http://localhost:8080/uploads/" + fileName);
-        } else if (sweetDetails.getImageUrl() != null) {
-            // If no new file, but URL is provided (e.g. keeping existing), update it.
-            // However, usually we just keep existing if null.
-            // But if user explicitly clears it? Let's assume if URL is passed, use it.
-            sweet.setImageUrl(sweetDetails.getImageUrl());
+            fileName = imageService.storeFile(imageFile);
+            uploadedUrl = imageService.publicUrl(fileName);
+        }
+
+        String imageUrl = uploadedUrl;
+        Sweet saved;
+        for (int attempt = 1;; attempt++) {
+            Sweet base = sweet;
+            try {
+                // Merge re-reads the row and checks the version in the same transaction
+                // as the UPDATE, which is guarded by it; the cache entry is replaced
+                // once that transaction commits
+                saved = transactionTemplate.execute(status -> {
+                    applyChanges(base, changes, imageUrl);
+                    Sweet merged = sweetRepository.save(base);
+                    afterCommit(() -> catalogCache.put(merged));
+                    return merged;
+                });
+                break;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                sweet = sweetRepository.findById(id).orElseThrow(() -> new RuntimeException("Sweet not found"));
+                if (changes.getVersion() != null || attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw new SweetConflictException(sweet);
+                }
+            }
+        }
+        Sweet result = saved;
+        if (fileName != null) {
+            String uploaded = fileName;
+            afterCommit(() -> generateImageVariants(result.getId(), result.getImageUrl(), uploaded));
         }
+        return saved;
+    }
 
-        return sweetRepository.save(sweet);
+    private static void applyChanges(Sweet sweet, Sweet changes, String uploadedUrl) {
+        if (changes.getName() != null) {
+            sweet.setName(changes.getName());
+        }
+        if (changes.getCategory() != null) {
+            sweet.setCategory(changes.getCategory());
+        }
+        if (changes.getPrice() != null) {
+            sweet.setPrice(changes.getPrice());
+        }
+        if (changes.getDescription() != null) {
+            sweet.setDescription(changes.getDescription());
+        }
+        String imageUrl = uploadedUrl != null ? uploadedUrl : changes.getImageUrl();
+        if (imageUrl != null && !imageUrl.equals(sweet.getImageUrl())) {
+            sweet.setImageUrl(imageUrl);
+            clearImageVariants(sweet);
+        }
     }
 
+    @Transactional
     public void deleteSweet(Long id) {
         Sweet sweet = sweetRepository.findById(id).orElseThrow(() -> new RuntimeException("Sweet not found"));
         sweetRepository.delete(sweet);
+        afterCommit(() -> catalogCache.remove(id));
+    }
+
+    public CatalogCache.Stats getCatalogCacheStats() {
+        return catalogCache.stats();
+    }
+
+    // The generation is read now, inside the writing transaction, so the cache
+    // can tell entries loaded before the write from ones that may include it
+    private void afterCommitQuantityDelta(Long id, int delta) {
+        long generation = catalogCache.currentGeneration();
+        afterCommit(() -> catalogCache.applyQuantityDelta(id, delta, generation));
+    }
+
+    // Cache updates must not expose rolled-back writes, so defer them to commit
+    // when a transaction is active.
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 }
@@ -0,0 +1,154 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.model.AuthType;
+import com.assignment.sweet.model.User;
+import com.assignment.sweet.repository.UserRepository;
+import com.assignment.sweet.security.ClerkPrincipal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mirrors Clerk identities into the local users table off the request path.
+ *
+ * The authentication filter calls {@link #requestSync(ClerkPrincipal)} on
+ * every authenticated request; a sync is only queued when the claims differ
+ * from what was last written for that user, and at most one sync per user is
+ * in flight. When the queue is full the request is dropped and retried on a
+ * later request, since the claims themselves remain the source of truth.
+ */
+@Slf4j
+@Service
+public class UserSyncService {
+
+    private final UserRepository userRepository;
+    private final ExecutorService executor;
+    private final int maxTracked;
+
+    // Last successfully synced claims per user; steady state short-circuits here
+    private final ConcurrentHashMap<String, Fingerprint> lastSynced = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @org.springframework.beans.factory.annotation.Autowired
+    public UserSyncService(UserRepository userRepository,
+            @Value("${user-sync.queue-capacity:1000}") int queueCapacity,
+            @Value("${user-sync.max-tracked-users:100000}") int maxTracked) {
+        this(userRepository, newExecutor(queueCapacity), maxTracked);
+    }
+
+    UserSyncService(UserRepository userRepository, ExecutorService executor, int maxTracked) {
+        this.userRepository = userRepository;
+        this.executor = executor;
+        this.maxTracked = maxTracked;
+    }
+
+    public void requestSync(ClerkPrincipal principal) {
+        String key = principal.userId() != null ? principal.userId() : principal.username();
+        if (key == null) {
+            return;
+        }
+        Fingerprint fingerprint = Fingerprint.of(principal);
+        if (fingerprint.equals(lastSynced.get(key)) || !inFlight.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    sync(principal);
+                    if (lastSynced.size() >= maxTracked) {
+                        lastSynced.clear();
+                    }
+                    lastSynced.put(key, fingerprint);
+                } catch (Exception e) {
+                    log.warn("Failed to sync user to DB", e);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            log.debug("User sync queue full; {} will be retried on a later request", key);
+        }
+    }
+
+    /**
+     * Upserts the user so we have clerkId and role stored locally.
+     */
+    void sync(ClerkPrincipal principal) {
+        String userId = principal.userId();
+        String username = principal.username();
+
+        User user = null;
+        if (userId != null && !userId.isEmpty()) {
+            user = userRepository.findByClerkId(userId).orElse(null);
+        }
+        if (user == null && username != null) {
+            user = userRepository.findByEmail(username).orElse(null);
+        }
+        if (user == null) {
+            // Create new user
+            User newUser = new User();
+            newUser.setClerkId(userId);
+            newUser.setEmail(username);
+            newUser.setFirstName(principal.firstName());
+            newUser.setLastName(principal.lastName());
+            newUser.setRole(principal.role());
+            newUser.setAuthType(AuthType.CLERK);
+            userRepository.save(newUser);
+            return;
+        }
+
+        boolean changed = false;
+        // LOCAL users must never carry a clerkId (see User invariants)
+        if (user.getClerkId() == null && userId != null && user.getAuthType() != AuthType.LOCAL) {
+            user.setClerkId(userId);
+            changed = true;
+        }
+        if (user.getRole() == null || !user.getRole().equals(principal.role())) {
+            user.setRole(principal.role());
+            changed = true;
+        }
+        if (principal.firstName() != null && !principal.firstName().equals(user.getFirstName())) {
+            user.setFirstName(principal.firstName());
+            changed = true;
+        }
+        if (principal.lastName() != null && !principal.lastName().equals(user.getLastName())) {
+            user.setLastName(principal.lastName());
+            changed = true;
+        }
+        if (changed) {
+            userRepository.save(user);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static ExecutorService newExecutor(int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread t = new Thread(r, "user-sync-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private record Fingerprint(String userId, String username, String firstName, String lastName, String role) {
+        static Fingerprint of(ClerkPrincipal p) {
+            return new Fingerprint(p.userId(), p.username(), p.firstName(), p.lastName(), p.role());
+        }
+    }
+}
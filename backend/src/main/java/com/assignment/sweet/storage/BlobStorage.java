@@ -0,0 +1,68 @@
+package com.assignment.sweet.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Where uploaded images and their variants live. Keys are flat,
+ * content-addressed names such as {@code <sha256>-card.jpg}, so an object is
+ * never rewritten with different bytes and {@link #put} is idempotent.
+ *
+ * Implementations: {@link FileSystemBlobStorage} (default, single node) and
+ * {@link S3BlobStorage} (any S3-compatible object store), selected by
+ * {@code storage.type}.
+ */
+public interface BlobStorage {
+
+    /**
+     * Streams {@code source} into storage under {@code key}.
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    /**
+     * Like {@link #put}, for callers that are done with {@code source}: the
+     * storage may take the file over instead of copying it, after which
+     * {@code source} may no longer exist.
+     */
+    default void putMove(String key, Path source, String contentType) throws IOException {
+        put(key, source, contentType);
+    }
+
+    /**
+     * A new empty file for the caller to fill and hand to {@link #putMove}.
+     * Defaults to the system temp directory; storages that can take a file
+     * over create it where a rename into place needs no copy.
+     */
+    default Path newStagingFile() throws IOException {
+        return Files.createTempFile(".upload-", ".tmp");
+    }
+
+    boolean exists(String key) throws IOException;
+
+    /**
+     * @throws java.io.FileNotFoundException if there is no object under {@code key}
+     */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Public URL clients fetch the object from, built from
+     * {@code storage.public-base-url} (e.g. a CDN in front of the bucket).
+     */
+    String publicUrl(String key);
+
+    /**
+     * Rejects keys that could escape a directory or bucket prefix.
+     */
+    static String checkKey(String key) {
+        if (key == null || key.isEmpty() || key.contains("/") || key.contains("\\") || key.startsWith(".")) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return key;
+    }
+
+    static String joinUrl(String baseUrl, String key) {
+        return baseUrl.endsWith("/") ? baseUrl + key : baseUrl + "/" + key;
+    }
+}
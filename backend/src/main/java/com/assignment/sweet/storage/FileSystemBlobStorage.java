@@ -0,0 +1,102 @@
+package com.assignment.sweet.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores objects as files in one directory, served by the backend itself
+ * under {@code /uploads/**} (see {@code WebMvcConfig}). Suitable for a single
+ * node or a shared volume.
+ */
+public class FileSystemBlobStorage implements BlobStorage {
+
+    private final Path root;
+    private final String publicBaseUrl;
+
+    public FileSystemBlobStorage(Path root, String publicBaseUrl) {
+        this.root = root.toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl;
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            // Content-addressed: an existing object already holds these bytes
+            return;
+        }
+        // Stage next to the target so the final rename is atomic on the same filesystem
+        Path temp = Files.createTempFile(root, ".put-", ".tmp");
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Renames {@code source} into place, so an upload already streamed to disk
+     * is not written a second time. Falls back to {@link #put} when the source
+     * is on another filesystem and cannot be renamed atomically.
+     */
+    @Override
+    public void putMove(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            return;
+        }
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            put(key, source, contentType);
+        }
+    }
+
+    /**
+     * Staged under the storage root, so {@link #putMove} is a rename on the
+     * same filesystem (e.g. a mounted volume) rather than a copy.
+     */
+    @Override
+    public Path newStagingFile() throws IOException {
+        return Files.createTempFile(root, ".put-", ".tmp");
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(key);
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return BlobStorage.joinUrl(publicBaseUrl, BlobStorage.checkKey(key));
+    }
+
+    private Path resolve(String key) {
+        return root.resolve(BlobStorage.checkKey(key));
+    }
+}
@@ -0,0 +1,207 @@
+package com.assignment.sweet.storage;
+
+import com.assignment.sweet.http.OutboundHttpClient;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Object storage over the S3 REST API, signed with AWS Signature Version 4.
+ * Works with AWS S3 and S3-compatible stores (MinIO, R2, ...) using path-style
+ * addressing ({@code <endpoint>/<bucket>/<key>}).
+ *
+ * Uses the JDK HTTP client rather than the AWS SDK: only PUT, HEAD and GET of
+ * single objects are needed, and request bodies are streamed from disk.
+ * Requests go through the shared {@link OutboundHttpClient}, so the store gets
+ * the same connection pooling, per-host cap and circuit breaker as other
+ * upstreams, and shows up in {@code /api/admin/outbound/stats}.
+ */
+public class S3BlobStorage implements BlobStorage {
+
+    static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    // Objects are content-addressed, so caches in front of the bucket may keep them forever
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final URI endpoint;
+    private final String bucket;
+    private final String region;
+    private final String accessKey;
+    private final String secretKey;
+    private final String publicBaseUrl;
+    private final OutboundHttpClient http;
+    private final Duration requestTimeout;
+
+    public S3BlobStorage(OutboundHttpClient http, URI endpoint, String bucket, String region, String accessKey,
+            String secretKey, String publicBaseUrl, Duration requestTimeout) {
+        this.http = http;
+        this.endpoint = endpoint;
+        this.bucket = bucket;
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.publicBaseUrl = publicBaseUrl;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        if (exists(key)) {
+            return;
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(objectUri(key))
+                .timeout(requestTimeout)
+                .header("Content-Type", contentType != null ? contentType : "application/octet-stream")
+                .header("Cache-Control", IMMUTABLE)
+                .PUT(HttpRequest.BodyPublishers.ofFile(source));
+        HttpResponse<String> response = send(sign(request, "PUT", key), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("S3 PUT " + key + " failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(objectUri(key))
+                .timeout(requestTimeout)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody());
+        int status = send(sign(request, "HEAD", key), HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 404) {
+            return false;
+        }
+        if (status / 100 != 2) {
+            throw new IOException("S3 HEAD " + key + " failed with " + status);
+        }
+        return true;
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(objectUri(key))
+                .timeout(requestTimeout)
+                .GET();
+        HttpResponse<InputStream> response = send(sign(request, "GET", key), HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() == 404) {
+            response.body().close();
+            throw new FileNotFoundException(key);
+        }
+        if (response.statusCode() / 100 != 2) {
+            response.body().close();
+            throw new IOException("S3 GET " + key + " failed with " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return BlobStorage.joinUrl(publicBaseUrl, BlobStorage.checkKey(key));
+    }
+
+    private URI objectUri(String key) {
+        String base = endpoint.toString();
+        return URI.create((base.endsWith("/") ? base : base + "/") + encode(bucket) + "/"
+                + encode(BlobStorage.checkKey(key)));
+    }
+
+    private HttpRequest sign(HttpRequest.Builder builder, String method, String key) {
+        URI uri = objectUri(key);
+        String amzDate = AMZ_DATE.format(Instant.now());
+        Map<String, String> signed = new TreeMap<>();
+        signed.put("host", hostHeader(uri));
+        signed.put("x-amz-content-sha256", UNSIGNED_PAYLOAD);
+        signed.put("x-amz-date", amzDate);
+        String authorization = authorization(method, uri.getRawPath(), "", signed, UNSIGNED_PAYLOAD, amzDate,
+                region, accessKey, secretKey);
+        return builder
+                .header("x-amz-content-sha256", UNSIGNED_PAYLOAD)
+                .header("x-amz-date", amzDate)
+                .header("Authorization", authorization)
+                .build();
+    }
+
+    // Fails with UpstreamUnavailableException (503) when the store's circuit is open or at its cap
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        return http.send(request, handler);
+    }
+
+    /**
+     * Builds the SigV4 {@code Authorization} header value. {@code headers} must
+     * contain every header to sign, keyed by lower-case name.
+     */
+    static String authorization(String method, String canonicalUri, String canonicalQuery,
+            Map<String, String> headers, String payloadHash, String amzDate, String region, String accessKey,
+            String secretKey) {
+        Map<String, String> sorted = new TreeMap<>(headers);
+        StringBuilder canonicalHeaders = new StringBuilder();
+        for (Map.Entry<String, String> h : sorted.entrySet()) {
+            canonicalHeaders.append(h.getKey()).append(':').append(h.getValue().trim()).append('\n');
+        }
+        String signedHeaders = String.join(";", sorted.keySet());
+        String canonicalRequest = method + "\n" + canonicalUri + "\n" + canonicalQuery + "\n" + canonicalHeaders
+                + "\n" + signedHeaders + "\n" + payloadHash;
+
+        String date = amzDate.substring(0, 8);
+        String scope = date + "/" + region + "/s3/aws4_request";
+        String stringToSign = "AWS4-HMAC-SHA256\n" + amzDate + "\n" + scope + "\n" + sha256Hex(canonicalRequest);
+
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        key = hmac(key, region);
+        key = hmac(key, "s3");
+        key = hmac(key, "aws4_request");
+        String signature = HexFormat.of().formatHex(hmac(key, stringToSign));
+
+        return "AWS4-HMAC-SHA256 Credential=" + accessKey + "/" + scope + ", SignedHeaders=" + signedHeaders
+                + ", Signature=" + signature;
+    }
+
+    private static String hostHeader(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port == -1 || ("http".equals(uri.getScheme()) && port == 80)
+                || ("https".equals(uri.getScheme()) && port == 443);
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    // RFC 3986 unreserved characters stay as-is, as SigV4 requires
+    private static String encode(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20").replace("*", "%2A")
+                .replace("%7E", "~");
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256Hex(String data) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
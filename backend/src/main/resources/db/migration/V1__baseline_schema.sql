@@ -0,0 +1,44 @@
+-- Schema as created by the former ddl-auto=update setup (plus its schema.sql).
+-- Databases that already have it are baselined at version 1 and skip this
+-- script (spring.flyway.baseline-on-migrate). Written to run on PostgreSQL and
+-- on H2 in PostgreSQL mode, which the tests use.
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    clerk_id VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    auth_type VARCHAR(255) CHECK (auth_type IN ('CLERK', 'LOCAL')),
+    role VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    password VARCHAR(255),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- NULLs never collide in a unique index, so this only constrains Clerk users
+CREATE UNIQUE INDEX idx_users_clerk_id_unique ON users (clerk_id);
+
+-- Ids come from sweets_seq / purchases_seq, created in version 2
+CREATE TABLE sweets (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    price NUMERIC(38, 2) NOT NULL,
+    quantity INTEGER NOT NULL,
+    description TEXT,
+    image_url VARCHAR(255),
+    thumbnail_url VARCHAR(255),
+    card_image_url VARCHAR(255),
+    detail_image_url VARCHAR(255)
+);
+
+CREATE TABLE purchases (
+    id BIGINT NOT NULL PRIMARY KEY,
+    sweet_id BIGINT NOT NULL,
+    sweet_name VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    price_per_unit NUMERIC(38, 2) NOT NULL,
+    total_price NUMERIC(38, 2) NOT NULL,
+    customer_email VARCHAR(255) NOT NULL,
+    created_date TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,20 @@
+-- Indexes for the hot read paths. IF NOT EXISTS because databases created by
+-- ddl-auto=update may already have the purchase indexes (from @Index on Purchase).
+
+-- Per-user history, newest first (GET /api/purchases/my), and the per-user summary
+CREATE INDEX IF NOT EXISTS idx_purchases_customer_created
+    ON purchases (customer_email, created_date DESC, id DESC);
+
+-- Admin history filtered by sweet; also serves lookups by sweet_id alone
+CREATE INDEX IF NOT EXISTS idx_purchases_sweet_created
+    ON purchases (sweet_id, created_date DESC, id DESC);
+
+-- Admin history by date range
+CREATE INDEX IF NOT EXISTS idx_purchases_created
+    ON purchases (created_date DESC, id DESC);
+
+-- Catalog search filtered by category and ordered or bounded by price (keyset on price, id)
+CREATE INDEX IF NOT EXISTS idx_sweets_category_price
+    ON sweets (category, price, id);
+
+-- users(email) needs no extra index: the uk_users_email unique constraint provides one
@@ -0,0 +1,2 @@
+-- Optimistic locking for admin edits of sweets (see Sweet#version)
+ALTER TABLE sweets ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
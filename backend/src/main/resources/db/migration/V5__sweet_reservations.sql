@@ -0,0 +1,3 @@
+-- Units held by checkout reservations (see ReservationService). Held units are
+-- moved out of quantity, so quantity stays the stock that can still be sold
+ALTER TABLE sweets ADD COLUMN IF NOT EXISTS reserved INTEGER NOT NULL DEFAULT 0;
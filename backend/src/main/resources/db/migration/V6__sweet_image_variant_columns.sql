@@ -0,0 +1,6 @@
+-- Image variant URLs (see ImageService). V1 already creates these columns, but
+-- databases from before migrations existed are baselined at version 1 and skip
+-- it, so add them here when missing
+ALTER TABLE sweets ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(255);
+ALTER TABLE sweets ADD COLUMN IF NOT EXISTS card_image_url VARCHAR(255);
+ALTER TABLE sweets ADD COLUMN IF NOT EXISTS detail_image_url VARCHAR(255);
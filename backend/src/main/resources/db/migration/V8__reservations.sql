@@ -0,0 +1,16 @@
+-- Checkout holds (see ReservationService). Each row's units are counted in
+-- sweets.reserved and written in the same transaction, so every replica sees
+-- the same holds and reconciliation can tell held units from orphaned ones
+CREATE TABLE IF NOT EXISTS reservations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sweet_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    customer_email VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- The sweeper reads due holds oldest first
+CREATE INDEX IF NOT EXISTS idx_reservations_expires_at ON reservations (expires_at);
+
+-- Reconciliation sums the holds of one sweet
+CREATE INDEX IF NOT EXISTS idx_reservations_sweet ON reservations (sweet_id);
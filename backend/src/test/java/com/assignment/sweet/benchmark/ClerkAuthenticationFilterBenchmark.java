@@ -0,0 +1,120 @@
+package com.assignment.sweet.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.assignment.sweet.security.ClerkAuthenticationFilter;
+import com.assignment.sweet.security.JwksVerifierCache;
+import com.auth0.jwk.Jwk;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests/sec through {@link ClerkAuthenticationFilter} for a valid RS256
+ * Clerk-style token, with and without the verified-token cache. Background user
+ * sync is left out (no UserSyncService in this harness) so the
+ * numbers isolate verification and claim parsing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClerkAuthenticationFilterBenchmark {
+
+    private static final String ISSUER = "https://bench.clerk.accounts.dev";
+    private static final String KID = "bench-key";
+
+    @Param({ "true", "false" })
+    public boolean tokenCache;
+
+    private ClerkAuthenticationFilter filter;
+    private JwksVerifierCache jwks;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    @Setup
+    public void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        Jwk jwk = Jwk.fromValues(Map.of(
+                "kid", KID,
+                "kty", "RSA",
+                "alg", "RS256",
+                "use", "sig",
+                "n", base64Url(publicKey.getModulus()),
+                "e", base64Url(publicKey.getPublicExponent())));
+
+        filter = new ClerkAuthenticationFilter(null, null, null, null, null);
+        ReflectionTestUtils.setField(filter, "tokenCacheEnabled", tokenCache);
+        ReflectionTestUtils.setField(filter, "tokenCacheMaxSize", 10_000);
+        ReflectionTestUtils.setField(filter, "tokenCacheMaxTtl", Duration.ofMinutes(5));
+        filter.init();
+        // Key set served in-process instead of fetched from a JWKS endpoint
+        jwks = new JwksVerifierCache(() -> List.of(jwk), ISSUER, Duration.ofSeconds(30));
+        jwks.start(Duration.ofHours(1));
+        ReflectionTestUtils.setField(filter, "jwksVerifiers", jwks);
+
+        String token = JWT.create()
+                .withKeyId(KID)
+                .withIssuer(ISSUER)
+                .withSubject("user_bench")
+                .withClaim("email", "bench@example.com")
+                .withClaim("first_name", "Bench")
+                .withClaim("last_name", "Mark")
+                .withClaim("org_role", "org:admin")
+                .withClaim("o", Map.of("id", "org_bench", "rol", "admin", "slg", "bench"))
+                .withExpiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .sign(Algorithm.RSA256(publicKey, (RSAPrivateKey) keyPair.getPrivate()));
+        authorization = "Bearer " + token;
+    }
+
+    @TearDown
+    public void tearDown() {
+        jwks.shutdown();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/sweets");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,66 @@
+package com.assignment.sweet.benchmark;
+
+import com.assignment.sweet.model.Purchase;
+import com.assignment.sweet.model.Sweet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Response-body serialization for the catalog ({@code List<Sweet>}) and
+ * purchase history ({@code List<Purchase>}) endpoints, using an
+ * {@link ObjectMapper} configured the way Spring Boot configures the one
+ * behind the message converters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    // Page sizes: a typical page, and the unpaged catalog of a large shop
+    @Param({ "20", "500" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Sweet> sweets;
+    private List<Purchase> purchases;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        sweets = IntStream.range(0, size).mapToObj(i -> {
+            Sweet sweet = new Sweet((long) i, "Sweet " + i, i % 2 == 0 ? "Candy" : "Chocolate",
+                    new BigDecimal("2.49"), 100 + i, "A benchmark sweet with a short description " + i,
+                    "/uploads/sweet-" + i + ".jpg");
+            sweet.setThumbnailUrl("/uploads/sweet-" + i + "-thumb.webp");
+            sweet.setCardImageUrl("/uploads/sweet-" + i + "-card.webp");
+            sweet.setDetailImageUrl("/uploads/sweet-" + i + "-detail.webp");
+            return sweet;
+        }).toList();
+
+        LocalDateTime now = LocalDateTime.now();
+        purchases = IntStream.range(0, size).mapToObj(i -> new Purchase((long) i, (long) (i % 50), "Sweet " + (i % 50),
+                1 + i % 5, new BigDecimal("2.49"), new BigDecimal("2.49").multiply(BigDecimal.valueOf(1 + i % 5)),
+                "bench@example.com", now.minusMinutes(i))).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeSweets() throws Exception {
+        return objectMapper.writeValueAsBytes(sweets);
+    }
+
+    @Benchmark
+    public byte[] serializePurchases() throws Exception {
+        return objectMapper.writeValueAsBytes(purchases);
+    }
+}
@@ -0,0 +1,53 @@
+package com.assignment.sweet.benchmark;
+
+import com.assignment.sweet.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing and validating the backend's own HS256 tokens, i.e. the cost of
+ * {@code /api/auth/login} minus the password hash and of the per-request check
+ * in {@code JwtAuthenticationFilter} minus the user lookup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "secretKey",
+                "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(tokenProvider, "keyId", "primary");
+        ReflectionTestUtils.setField(tokenProvider, "previousKeys", "");
+        tokenProvider.init();
+
+        user = new User("bench@example.com", "unused", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = tokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return tokenProvider.isTokenValid(token, user);
+    }
+}
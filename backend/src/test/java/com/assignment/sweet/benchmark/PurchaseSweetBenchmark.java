@@ -0,0 +1,81 @@
+package com.assignment.sweet.benchmark;
+
+import com.assignment.sweet.SweetApplication;
+import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.SweetRepository;
+import com.assignment.sweet.service.SweetService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link SweetService#purchaseSweet} end to end through the service layer:
+ * conditional stock UPDATE, purchase INSERT and commit against embedded H2,
+ * without HTTP or security in front. {@code spreadAcrossSweets} buys random
+ * sweets; {@code sameSweet} always buys the same one, which shows the cost of
+ * row contention when run with more threads ({@code -t 4}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PurchaseSweetBenchmark {
+
+    private static final String EMAIL = "bench@example.com";
+
+    private ConfigurableApplicationContext context;
+    private SweetService sweetService;
+    private List<Long> sweetIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        Map<String, Object> props = new HashMap<>();
+        props.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        props.put("spring.datasource.driverClassName", "org.h2.Driver");
+        props.put("spring.datasource.username", "sa");
+        props.put("spring.datasource.password", "");
+        props.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        props.put("logging.level.root", "WARN");
+
+        SpringApplication app = new SpringApplication(SweetApplication.class);
+        app.setWebApplicationType(WebApplicationType.NONE);
+        app.setDefaultProperties(props);
+        context = app.run();
+        sweetService = context.getBean(SweetService.class);
+
+        SweetRepository sweets = context.getBean(SweetRepository.class);
+        sweetIds = IntStream.range(0, 50)
+                .mapToObj(i -> sweets.save(new Sweet(null, "Sweet " + i, "Candy",
+                        new BigDecimal("1.50"), 1_000_000_000, "Benchmark sweet " + i, null)).getId())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Sweet spreadAcrossSweets() {
+        Long id = sweetIds.get(ThreadLocalRandom.current().nextInt(sweetIds.size()));
+        return sweetService.purchaseSweet(id, 1, EMAIL);
+    }
+
+    @Benchmark
+    public Sweet sameSweet() {
+        return sweetService.purchaseSweet(sweetIds.get(0), 1, EMAIL);
+    }
+}
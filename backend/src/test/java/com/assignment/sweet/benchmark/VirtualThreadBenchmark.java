@@ -0,0 +1,149 @@
+package com.assignment.sweet.benchmark;
+
+import com.assignment.sweet.SweetApplication;
+import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.SweetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Mixed catalog / purchase / login load against a running backend, once with
+ * Tomcat's platform worker pool and once with virtual threads
+ * ({@code spring.threads.virtual.enabled}). Reports throughput and the
+ * latency distribution (p99 etc. from {@link Mode#SampleTime}) per operation.
+ *
+ * The platform pool is deliberately smaller than the number of client
+ * threads, so the comparison shows what happens when requests queue for a
+ * worker. Runs against in-memory H2, so database latency is lower than in
+ * production; the gap between the modes grows with real I/O latency.
+ *
+ * <pre>mvn -Pbenchmark -DskipTests verify -Djmh.include=VirtualThreadBenchmark</pre>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    private static final String EMAIL = "bench@example.com";
+    private static final String PASSWORD = "bench-password";
+
+    @Param({ "false", "true" })
+    public boolean virtualThreads;
+
+    // Worker pool size in platform mode; ignored with virtual threads
+    @Param({ "32" })
+    public int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+    private byte[] loginBody;
+    private List<Long> sweetIds;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        Map<String, Object> props = new HashMap<>();
+        props.put("server.port", 0);
+        props.put("spring.threads.virtual.enabled", virtualThreads);
+        props.put("server.tomcat.threads.max", tomcatThreads);
+        props.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        props.put("spring.datasource.driverClassName", "org.h2.Driver");
+        props.put("spring.datasource.username", "sa");
+        props.put("spring.datasource.password", "");
+        props.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        props.put("spring.jpa.open-in-view", false);
+        props.put("logging.level.root", "WARN");
+
+        SpringApplication app = new SpringApplication(SweetApplication.class);
+        app.setDefaultProperties(props);
+        context = app.run();
+        baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+
+        SweetRepository sweets = context.getBean(SweetRepository.class);
+        sweetIds = IntStream.range(0, 50)
+                .mapToObj(i -> sweets.save(new Sweet(null, "Sweet " + i, i % 2 == 0 ? "Candy" : "Chocolate",
+                        new BigDecimal("1.50"), 1_000_000_000, "Benchmark sweet " + i, null)).getId())
+                .toList();
+
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ObjectMapper json = new ObjectMapper();
+        byte[] register = json.writeValueAsBytes(Map.of("email", EMAIL, "password", PASSWORD, "role", "USER"));
+        check(send(post("/api/auth/register", register)));
+        loginBody = json.writeValueAsBytes(Map.of("email", EMAIL, "password", PASSWORD));
+        HttpResponse<byte[]> login = check(send(post("/api/auth/login", loginBody)));
+        authorization = "Bearer " + json.readTree(login.body()).get("token").asText();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(48)
+    public int catalog() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/sweets"))
+                .header("Authorization", authorization)
+                .GET()
+                .build()).statusCode();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(12)
+    public int purchase() throws Exception {
+        Long id = sweetIds.get(ThreadLocalRandom.current().nextInt(sweetIds.size()));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/sweets/" + id + "/purchase"))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("1"))
+                .build()).statusCode();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public int login() throws Exception {
+        return send(post("/api/auth/login", loginBody)).statusCode();
+    }
+
+    private HttpRequest post(String path, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static HttpResponse<byte[]> check(HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.uri() + " returned " + response.statusCode());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,57 @@
+package com.assignment.sweet.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedTtlMapTest {
+
+    private static final long NOW = 1_000_000L;
+
+    private final BoundedTtlMap<String, String> map = new BoundedTtlMap<>(10,
+            Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+
+    @Test
+    void get_ShouldDropExpiredEntries_WhileGetEntryKeepsThemReadable() {
+        map.put("live", "a", NOW + 1);
+        map.put("stale", "b", NOW);
+
+        assertEquals("b", map.getEntry("stale").value());
+        assertFalse(map.getEntry("stale").isLive(NOW));
+        assertEquals("a", map.get("live"));
+        assertNull(map.get("stale"));
+        assertNull(map.getEntry("stale"));
+    }
+
+    @Test
+    void put_ShouldEvictExpiredEntriesFirst_WhenFull() {
+        for (int i = 0; i < 9; i++) {
+            map.put("live" + i, "v", NOW + 60_000);
+        }
+        map.put("stale", "v", NOW - 1);
+
+        map.put("new", "v", NOW + 60_000);
+
+        assertEquals(10, map.size());
+        assertNull(map.getEntry("stale"));
+        assertEquals("v", map.get("new"));
+    }
+
+    @Test
+    void put_ShouldShedATenth_WhenFullOfLiveEntries() {
+        for (int i = 0; i < 10; i++) {
+            map.put("live" + i, "v", NOW + 60_000);
+        }
+
+        map.put("new", "v", NOW + 60_000);
+        // Replacing an existing key never evicts
+        map.put("new", "w", NOW + 60_000);
+
+        assertEquals(10, map.size());
+        assertEquals("w", map.get("new"));
+    }
+}
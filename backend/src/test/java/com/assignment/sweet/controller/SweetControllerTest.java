@@ -1,6 +1,7 @@
 package com.assignment.sweet.controller;
 
 import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.service.CatalogSnapshotService;
 import com.assignment.sweet.service.SweetService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,8 @@ import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 @WebMvcTest(SweetController.class)
@@ -35,6 +38,9 @@ class SweetControllerTest {
         @MockBean
         private SweetService sweetService;
 
+        @MockBean
+        private CatalogSnapshotService catalogSnapshotService;
+
         @MockBean
         private com.assignment.sweet.security.ClerkAuthenticationFilter clerkAuthenticationFilter;
 
@@ -57,13 +63,60 @@ class SweetControllerTest {
         void getAllSweets_ShouldReturnListOfSweets() throws Exception {
                 Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 100, "Delicious Ladoo",
                                 "http://image.url");
-                when(sweetService.getAllSweets()).thenReturn(List.of(sweet));
+                when(catalogSnapshotService.getSnapshot()).thenReturn(new CatalogSnapshotService.Snapshot(1L,
+                                objectMapper.writeValueAsBytes(List.of(sweet)), null, "\"v1\""));
 
                 mockMvc.perform(get("/api/sweets"))
                                 .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(header().string("ETag", "\"v1\""))
                                 .andExpect(jsonPath("$[0].name").value("Ladoo"));
         }
 
+        @Test
+        @WithMockUser
+        void getAllSweets_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+                when(catalogSnapshotService.getSnapshot()).thenReturn(new CatalogSnapshotService.Snapshot(1L,
+                                "[]".getBytes(), null, "\"v1\""));
+
+                mockMvc.perform(get("/api/sweets").header("If-None-Match", "\"v0\", \"v1\""))
+                                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                                .andExpect(header().string("ETag", "\"v1\""))
+                                .andExpect(content().bytes(new byte[0]));
+        }
+
+        @Test
+        @WithMockUser
+        void getAllSweets_ShouldServePrecompressedBody_WhenClientAcceptsGzip() throws Exception {
+                byte[] gzip = new byte[] { 0x1f, (byte) 0x8b, 0x08 };
+                when(catalogSnapshotService.getSnapshot()).thenReturn(new CatalogSnapshotService.Snapshot(1L,
+                                "[]".getBytes(), gzip, "\"v1\""));
+
+                mockMvc.perform(get("/api/sweets").header("Accept-Encoding", "gzip, br"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(header().string("Content-Encoding", "gzip"))
+                                .andExpect(content().bytes(gzip));
+        }
+
+        @Test
+        @WithMockUser
+        void searchSweets_ShouldReturnPageWithCursor() throws Exception {
+                Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 100, "Delicious Ladoo",
+                                "http://image.url");
+                when(sweetService.searchSweets(eq("lad"), eq(null), eq(null), eq(BigDecimal.valueOf(20)),
+                                eq(com.assignment.sweet.dto.SweetSortOrder.PRICE_ASC), eq(null), eq(10)))
+                                .thenReturn(new com.assignment.sweet.dto.SweetPageResponse(List.of(sweet), "abc", true));
+
+                mockMvc.perform(get("/api/sweets/search")
+                                .param("name", "lad")
+                                .param("maxPrice", "20")
+                                .param("sort", "PRICE_ASC")
+                                .param("size", "10"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(jsonPath("$.items[0].name").value("Ladoo"))
+                                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                                .andExpect(jsonPath("$.hasMore").value(true));
+        }
+
         @Test
         @WithMockUser(roles = "ADMIN")
         void addSweet_ShouldReturnSavedSweet() throws Exception {
@@ -114,6 +167,32 @@ class SweetControllerTest {
                                 .andExpect(jsonPath("$.quantity").value(15));
         }
 
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        void updateSweet_ShouldReturnConflictWithCurrentState_WhenVersionIsStale() throws Exception {
+                Sweet current = new Sweet(1L, "Barfi", "Milk", BigDecimal.valueOf(18.0), 42, "Tasty Barfi", null);
+                current.setVersion(3L);
+                when(sweetService.updateSweet(eq(1L), any(Sweet.class), any()))
+                                .thenThrow(new com.assignment.sweet.exception.SweetConflictException(current));
+
+                Sweet edit = new Sweet(null, null, null, BigDecimal.valueOf(16.0), null, null, null);
+                edit.setVersion(2L);
+                org.springframework.mock.web.MockMultipartFile sweetPart = new org.springframework.mock.web.MockMultipartFile(
+                                "sweet",
+                                "",
+                                "application/json",
+                                objectMapper.writeValueAsBytes(edit));
+
+                mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+                                .multipart(org.springframework.http.HttpMethod.PUT, "/api/sweets/1")
+                                .file(sweetPart)
+                                .with(csrf())
+                                .contentType(MediaType.MULTIPART_FORM_DATA))
+                                .andExpect(MockMvcResultMatchers.status().isConflict())
+                                .andExpect(jsonPath("$.current.price").value(18.0))
+                                .andExpect(jsonPath("$.current.version").value(3));
+        }
+
         @Test
         @WithMockUser // non-admin
         void addSweet_ShouldBeForbiddenForNonAdmin() throws Exception {
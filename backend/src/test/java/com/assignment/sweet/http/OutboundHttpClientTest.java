@@ -0,0 +1,153 @@
+package com.assignment.sweet.http;
+
+import com.assignment.sweet.exception.UpstreamUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundHttpClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile CountDownLatch release;
+    private MutableClock clock;
+    private OutboundHttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            calls.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        client = new OutboundHttpClient(HttpClient.newHttpClient(), Duration.ofSeconds(5), 2, 3,
+                Duration.ofSeconds(30), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/x")).build();
+    }
+
+    private int send() throws Exception {
+        return client.send(request(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Test
+    void circuit_ShouldOpenAfterConsecutiveFailures_AndCloseAfterSuccessfulProbe() throws Exception {
+        status = 503;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(503, send());
+        }
+
+        // Open: fails fast without calling the upstream
+        UpstreamUnavailableException open = assertThrows(UpstreamUnavailableException.class, this::send);
+        assertEquals(30, open.getRetryAfterSeconds());
+        assertEquals(3, calls.get());
+        assertEquals("OPEN", client.stats().get(0).circuit());
+
+        // After the open period a single probe goes through and closes the circuit
+        status = 200;
+        clock.advance(Duration.ofSeconds(31));
+        assertEquals("HALF_OPEN", client.stats().get(0).circuit());
+        assertEquals(200, send());
+        assertEquals("CLOSED", client.stats().get(0).circuit());
+        assertEquals(1, client.stats().get(0).shortCircuited());
+    }
+
+    @Test
+    void circuit_ShouldReopen_WhenProbeFails() throws Exception {
+        status = 500;
+        for (int i = 0; i < 3; i++) {
+            send();
+        }
+        clock.advance(Duration.ofSeconds(31));
+
+        assertEquals(500, send());
+
+        assertThrows(UpstreamUnavailableException.class, this::send);
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void sendAsync_ShouldRejectBeyondPerHostConcurrencyLimit() throws Exception {
+        release = new CountDownLatch(1);
+        CompletableFuture<HttpResponse<Void>> first = client.sendAsync(request(), HttpResponse.BodyHandlers.discarding());
+        CompletableFuture<HttpResponse<Void>> second = client.sendAsync(request(), HttpResponse.BodyHandlers.discarding());
+        CompletableFuture<HttpResponse<Void>> third = client.sendAsync(request(), HttpResponse.BodyHandlers.discarding());
+
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> third.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(UpstreamUnavailableException.class, rejected.getCause());
+        assertEquals(2, client.stats().get(0).inFlight());
+
+        release.countDown();
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(200, second.get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(1, client.stats().get(0).rejected());
+        // Rejections are not upstream failures
+        assertEquals("CLOSED", client.stats().get(0).circuit());
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.assignment.sweet.integration;
+
+import com.assignment.sweet.model.Purchase;
+import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.PurchaseRepository;
+import com.assignment.sweet.repository.SweetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminStatsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private PurchaseRepository purchaseRepository;
+
+    @BeforeEach
+    void setUp() {
+        purchaseRepository.deleteAll();
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getStats_ShouldAggregateInventoryAndSales() throws Exception {
+        sweetRepository.save(new Sweet(null, "Fudge", "Chocolate", new BigDecimal("2.50"), 20, null, null));
+        sweetRepository.save(new Sweet(null, "Toffee", "Candy", new BigDecimal("1.00"), 5, null, null));
+        sweetRepository.save(new Sweet(null, "Gum", "Candy", new BigDecimal("0.50"), 0, null, null));
+        purchaseRepository.save(new Purchase(null, 1L, "Fudge", 2, new BigDecimal("2.50"), new BigDecimal("5.00"),
+                "a@example.com", null));
+        purchaseRepository.save(new Purchase(null, 2L, "Toffee", 3, new BigDecimal("1.00"), new BigDecimal("3.00"),
+                "b@example.com", null));
+
+        mockMvc.perform(get("/api/admin/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSweets").value(3))
+                .andExpect(jsonPath("$.inventoryValue").value(55.0))
+                .andExpect(jsonPath("$.totalSales").value(2))
+                .andExpect(jsonPath("$.unitsSold").value(5))
+                .andExpect(jsonPath("$.revenue").value(8.0))
+                .andExpect(jsonPath("$.lowStockCount").value(1))
+                .andExpect(jsonPath("$.outOfStockCount").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getStats_ShouldReturnZeros_WhenEmpty() throws Exception {
+        mockMvc.perform(get("/api/admin/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSweets").value(0))
+                .andExpect(jsonPath("$.revenue").value(0));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getStats_ShouldBeForbidden_ForNonAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/stats"))
+                .andExpect(status().isForbidden());
+    }
+}
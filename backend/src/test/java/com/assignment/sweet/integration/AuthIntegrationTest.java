@@ -13,6 +13,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,9 +52,10 @@ class AuthIntegrationTest {
                 "securePassword123",
                 "USER");
 
-        mockMvc.perform(post("/api/auth/register")
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted()).andReturn()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.email").value("integration-test@example.com"))
                 .andExpect(jsonPath("$.role").value("USER"))
@@ -70,15 +73,17 @@ class AuthIntegrationTest {
                 "securePassword123",
                 "USER");
 
-        mockMvc.perform(post("/api/auth/register")
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted()).andReturn()))
                 .andExpect(status().isOk());
 
         // Second registration with same email should fail
-        mockMvc.perform(post("/api/auth/register")
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted()).andReturn()))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Email already exists"));
     }
@@ -91,9 +96,10 @@ class AuthIntegrationTest {
                 "securePassword123",
                 "USER");
 
-        mockMvc.perform(post("/api/auth/register")
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(request().asyncStarted()).andReturn()))
                 .andExpect(status().isOk());
 
         // Then login with correct credentials
@@ -101,9 +107,10 @@ class AuthIntegrationTest {
                 "login-test@example.com",
                 "securePassword123");
 
-        MvcResult result = mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted()).andReturn()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists())
                 .andReturn();
@@ -121,9 +128,10 @@ class AuthIntegrationTest {
                 "nonexistent@example.com",
                 "anyPassword");
 
-        mockMvc.perform(post("/api/auth/login")
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted()).andReturn()))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("User not found"));
     }
@@ -136,9 +144,10 @@ class AuthIntegrationTest {
                 "correctPassword",
                 "USER");
 
-        mockMvc.perform(post("/api/auth/register")
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(request().asyncStarted()).andReturn()))
                 .andExpect(status().isOk());
 
         // Then login with wrong password
@@ -146,9 +155,10 @@ class AuthIntegrationTest {
                 "login-test@example.com",
                 "wrongPassword");
 
-        mockMvc.perform(post("/api/auth/login")
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted()).andReturn()))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Invalid password"));
     }
@@ -161,9 +171,10 @@ class AuthIntegrationTest {
                 "securePassword123",
                 "ADMIN");
 
-        mockMvc.perform(post("/api/auth/register")
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(request().asyncStarted()).andReturn()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.role").value("ADMIN"));
 
@@ -172,9 +183,10 @@ class AuthIntegrationTest {
                 "integration-test@example.com",
                 "securePassword123");
 
-        MvcResult result = mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted()).andReturn()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists())
                 .andReturn();
@@ -189,4 +201,43 @@ class AuthIntegrationTest {
         assertTrue(payload.contains("integration-test@example.com"));
         assertTrue(payload.contains("ADMIN"));
     }
+
+    @Test
+    void localToken_ShouldUseStoredRole_AndNeverWriteTheAccount() throws Exception {
+        String token = registerAndLogin("integration-test@example.com", "ADMIN");
+
+        // Demoted after the token was issued
+        var user = userRepository.findByEmail("integration-test@example.com").orElseThrow();
+        user.setRole("USER");
+        userRepository.save(user);
+
+        mockMvc.perform(delete("/api/sweets/999999").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        assertEquals("USER", userRepository.findByEmail("integration-test@example.com").orElseThrow().getRole());
+    }
+
+    @Test
+    void localToken_ShouldNotRecreateDeletedAccount() throws Exception {
+        String token = registerAndLogin("login-test@example.com", "USER");
+        userRepository.delete(userRepository.findByEmail("login-test@example.com").orElseThrow());
+
+        mockMvc.perform(delete("/api/sweets/999999").header("Authorization", "Bearer " + token))
+                .andExpect(status().is4xxClientError());
+        assertTrue(userRepository.findByEmail("login-test@example.com").isEmpty());
+    }
+
+    private String registerAndLogin(String email, String role) throws Exception {
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequest(email, "securePassword123", role))))
+                .andExpect(request().asyncStarted()).andReturn()))
+                .andExpect(status().isOk());
+        MvcResult result = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(email, "securePassword123"))))
+                .andExpect(request().asyncStarted()).andReturn()))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
 }
@@ -0,0 +1,114 @@
+package com.assignment.sweet.integration;
+
+import com.assignment.sweet.dto.SweetPageResponse;
+import com.assignment.sweet.dto.SweetSortOrder;
+import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.PurchaseRepository;
+import com.assignment.sweet.repository.SweetRepository;
+import com.assignment.sweet.service.SweetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks the keyset-paginated catalog against H2 and checks filters, ordering
+ * and page boundaries.
+ */
+@SpringBootTest
+class CatalogSearchIntegrationTest {
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private PurchaseRepository purchaseRepository;
+
+    @BeforeEach
+    void setUp() {
+        purchaseRepository.deleteAll();
+        sweetRepository.deleteAll();
+        for (int i = 0; i < 25; i++) {
+            String category = i % 2 == 0 ? "Chocolate" : "Candy";
+            // Duplicate prices exercise the id tie-breaker
+            BigDecimal price = BigDecimal.valueOf(1 + (i % 5));
+            sweetRepository.save(new Sweet(null, String.format("Sweet %02d", i), category, price, 10, null, null));
+        }
+    }
+
+    @Test
+    void searchSweets_ShouldVisitEveryMatchingRowExactlyOnce() {
+        List<Sweet> seen = collectAll(null, null, null, SweetSortOrder.PRICE_ASC, 4);
+
+        assertEquals(25, seen.size());
+        assertEquals(25, seen.stream().map(Sweet::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            Sweet prev = seen.get(i - 1);
+            Sweet cur = seen.get(i);
+            int cmp = prev.getPrice().compareTo(cur.getPrice());
+            assertTrue(cmp < 0 || (cmp == 0 && prev.getId() < cur.getId()), "Rows must follow (price, id) order");
+        }
+    }
+
+    @Test
+    void searchSweets_ShouldApplyFiltersInQuery() {
+        List<Sweet> seen = collectAll("sweet 1", "chocolate", BigDecimal.valueOf(3), SweetSortOrder.NAME_ASC, 2);
+
+        List<String> names = seen.stream().map(Sweet::getName).collect(Collectors.toList());
+        assertEquals(List.of("Sweet 10", "Sweet 12", "Sweet 16"), names);
+    }
+
+    @Test
+    void searchSweets_ShouldCapPageSize() {
+        SweetPageResponse page = sweetService.searchSweets(null, null, null, null, SweetSortOrder.NEWEST, null, 1000);
+
+        assertEquals(25, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchSweets_ShouldRejectMalformedCursor() {
+        assertThrows(RuntimeException.class,
+                () -> sweetService.searchSweets(null, null, null, null, SweetSortOrder.NAME_ASC, "not-a-cursor", 5));
+    }
+
+    @Test
+    void searchSweets_ShouldRejectCursorFromAnotherSortOrder() {
+        String nameCursor = sweetService.searchSweets(null, null, null, null, SweetSortOrder.NAME_ASC, null, 5)
+                .getNextCursor();
+        String badPrice = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("PRICE_ASC:1:cheap".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[] { nameCursor, badPrice }) {
+            RuntimeException ex = assertThrows(RuntimeException.class,
+                    () -> sweetService.searchSweets(null, null, null, null, SweetSortOrder.PRICE_ASC, cursor, 5));
+            assertEquals("Invalid cursor", ex.getMessage());
+        }
+    }
+
+    private List<Sweet> collectAll(String name, String category, BigDecimal maxPrice, SweetSortOrder sort,
+            int size) {
+        List<Sweet> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            SweetPageResponse page = sweetService.searchSweets(name, category, null, maxPrice, sort, cursor, size);
+            assertTrue(page.getItems().size() <= size);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+}
@@ -0,0 +1,117 @@
+package com.assignment.sweet.integration;
+
+import com.assignment.sweet.dto.LoginRequest;
+import com.assignment.sweet.dto.RegisterRequest;
+import com.assignment.sweet.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImageSearchIntegrationTest {
+
+    // Local stand-in for the Unsplash search API
+    private static final HttpServer UNSPLASH = startUnsplash();
+
+    @DynamicPropertySource
+    static void unsplashProperties(DynamicPropertyRegistry registry) {
+        registry.add("unsplash.base-url", () -> "http://127.0.0.1:" + UNSPLASH.getAddress().getPort());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String adminToken;
+
+    private static HttpServer startUnsplash() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/search/photos", exchange -> {
+                byte[] body = "{\"results\":[{\"urls\":{\"regular\":\"https://images.example/rasgulla.jpg\"}}]}"
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.getResponseHeaders().add("X-Ratelimit-Remaining", "49");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AfterAll
+    static void stopUnsplash() {
+        UNSPLASH.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userRepository.deleteAll();
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequest("images@test.com", "password", "ADMIN"))))
+                .andExpect(request().asyncStarted()).andReturn()))
+                .andExpect(status().isOk());
+        MvcResult login = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("images@test.com", "password"))))
+                .andExpect(request().asyncStarted()).andReturn()))
+                .andExpect(status().isOk())
+                .andReturn();
+        adminToken = objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @Test
+    void search_ShouldCompleteAsynchronously_ForAdmin() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/images/search").param("query", "Rasgulla")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("https://images.example/rasgulla.jpg"));
+
+        mockMvc.perform(get("/api/images/search/stats").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rateLimitRemaining").value(49));
+    }
+
+    @Test
+    void search_ShouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/api/images/search").param("query", "Rasgulla"))
+                .andExpect(status().isForbidden());
+    }
+}
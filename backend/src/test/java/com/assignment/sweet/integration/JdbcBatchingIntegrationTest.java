@@ -0,0 +1,88 @@
+package com.assignment.sweet.integration;
+
+import com.assignment.sweet.model.Purchase;
+import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.PurchaseRepository;
+import com.assignment.sweet.repository.SweetRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sequence-allocated ids let Hibernate group inserts into JDBC batches: a bulk
+ * save prepares one INSERT per batch instead of one per row.
+ */
+@SpringBootTest
+class JdbcBatchingIntegrationTest {
+
+    private static final int ROWS = 40;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private PurchaseRepository purchaseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        purchaseRepository.deleteAll();
+        sweetRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void saveAll_ShouldBatchSweetAndPurchaseInserts() {
+        List<Sweet> sweets = IntStream.range(0, ROWS)
+                .mapToObj(i -> new Sweet(null, "Sweet " + i, "Candy", BigDecimal.ONE, 10, "Batch", null))
+                .toList();
+        transactionTemplate.executeWithoutResult(tx -> sweetRepository.saveAll(sweets));
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        // Sequence calls (two for the first block of 50 ids) plus one batched INSERT,
+        // instead of one statement per row
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+
+        statistics.clear();
+        LocalDateTime now = LocalDateTime.now();
+        List<Purchase> purchases = sweets.stream()
+                .map(s -> new Purchase(null, s.getId(), s.getName(), 1, BigDecimal.ONE, BigDecimal.ONE,
+                        "buyer@test.com", now))
+                .toList();
+        transactionTemplate.executeWithoutResult(tx -> purchaseRepository.saveAll(purchases));
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(ROWS, purchaseRepository.count());
+    }
+}
@@ -0,0 +1,114 @@
+package com.assignment.sweet.integration;
+
+import com.assignment.sweet.dto.PurchaseHistoryItem;
+import com.assignment.sweet.dto.PurchasePageResponse;
+import com.assignment.sweet.dto.PurchaseSummary;
+import com.assignment.sweet.model.Purchase;
+import com.assignment.sweet.repository.PurchaseRepository;
+import com.assignment.sweet.service.PurchaseHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks the keyset-paginated purchase history against H2. Purchases are
+ * inserted in a tight loop so many share a timestamp, exercising the id
+ * tie-breaker.
+ */
+@SpringBootTest
+class PurchaseHistoryIntegrationTest {
+
+    @Autowired
+    private PurchaseHistoryService purchaseHistoryService;
+
+    @Autowired
+    private PurchaseRepository purchaseRepository;
+
+    @BeforeEach
+    void setUp() {
+        purchaseRepository.deleteAll();
+        for (int i = 0; i < 25; i++) {
+            purchaseRepository.save(purchase("alice@example.com", i % 2 == 0 ? 1L : 2L, 2, "1.50"));
+        }
+        for (int i = 0; i < 3; i++) {
+            purchaseRepository.save(purchase("bob@example.com", 1L, 1, "1.50"));
+        }
+    }
+
+    private static Purchase purchase(String email, Long sweetId, int quantity, String unitPrice) {
+        BigDecimal price = new BigDecimal(unitPrice);
+        return new Purchase(null, sweetId, "Sweet " + sweetId, quantity, price,
+                price.multiply(BigDecimal.valueOf(quantity)), email, null);
+    }
+
+    @Test
+    void getCustomerHistory_ShouldVisitEveryPurchaseOnceNewestFirst() {
+        List<PurchaseHistoryItem> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PurchasePageResponse page = purchaseHistoryService.getCustomerHistory("alice@example.com", cursor, 10);
+            assertTrue(page.getItems().size() <= 10);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasMore(), cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, seen.size());
+        assertEquals(25, seen.stream().map(PurchaseHistoryItem::getId).distinct().count());
+        assertTrue(seen.stream().allMatch(p -> "alice@example.com".equals(p.getCustomerEmail())));
+        for (int i = 1; i < seen.size(); i++) {
+            PurchaseHistoryItem prev = seen.get(i - 1);
+            PurchaseHistoryItem cur = seen.get(i);
+            int cmp = prev.getCreatedDate().compareTo(cur.getCreatedDate());
+            assertTrue(cmp > 0 || (cmp == 0 && prev.getId() > cur.getId()), "Rows must follow (createdDate, id) DESC");
+        }
+    }
+
+    @Test
+    void getCustomerSummary_ShouldAggregateInQuery() {
+        PurchaseSummary summary = purchaseHistoryService.getCustomerSummary("alice@example.com");
+
+        assertEquals(25, summary.getPurchaseCount());
+        assertEquals(50, summary.getItemCount());
+        assertEquals(0, new BigDecimal("75.00").compareTo(summary.getTotalSpent()));
+
+        PurchaseSummary empty = purchaseHistoryService.getCustomerSummary("nobody@example.com");
+        assertEquals(0, empty.getPurchaseCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(empty.getTotalSpent()));
+    }
+
+    @Test
+    void getAllHistory_ShouldApplySweetAndDateFilters() {
+        PurchasePageResponse bySweet = purchaseHistoryService.getAllHistory(null, null, 1L, null, null, 100);
+        assertEquals(16, bySweet.getItems().size());
+        assertFalse(bySweet.isHasMore());
+
+        LocalDateTime future = LocalDateTime.now().plusDays(1);
+        assertTrue(purchaseHistoryService.getAllHistory(future, null, null, null, null, 100).getItems().isEmpty());
+        assertEquals(28, purchaseHistoryService.getAllHistory(null, future, null, null, null, 100).getItems().size());
+
+        PurchasePageResponse bobOnly = purchaseHistoryService.getAllHistory(null, null, 1L, "bob@example.com", null,
+                100);
+        assertEquals(3, bobOnly.getItems().size());
+    }
+
+    @Test
+    void getAllHistory_ShouldRejectBadCursorAndRange() {
+        assertThrows(RuntimeException.class,
+                () -> purchaseHistoryService.getCustomerHistory("alice@example.com", "not-a-cursor", 10));
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(RuntimeException.class,
+                () -> purchaseHistoryService.getAllHistory(now, now.minusDays(1), null, null, null, 10));
+    }
+}
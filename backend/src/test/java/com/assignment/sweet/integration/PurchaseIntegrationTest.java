@@ -1,5 +1,7 @@
 package com.assignment.sweet.integration;
 
+import com.assignment.sweet.dto.CheckoutItem;
+import com.assignment.sweet.dto.CheckoutRequest;
 import com.assignment.sweet.dto.LoginRequest;
 import com.assignment.sweet.dto.RegisterRequest;
 import com.assignment.sweet.model.Sweet;
@@ -19,10 +21,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -55,16 +61,18 @@ class PurchaseIntegrationTest {
         void purchaseFlow_ShouldSucceed() throws Exception {
                 // 1. Register Admin
                 RegisterRequest adminRegister = new RegisterRequest("admin@test.com", "password", "ADMIN");
-                mockMvc.perform(post("/api/auth/register")
+                mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(adminRegister)))
+                                .andExpect(request().asyncStarted()).andReturn()))
                                 .andExpect(status().isOk());
 
                 // 2. Login Admin
                 LoginRequest adminLogin = new LoginRequest("admin@test.com", "password");
-                MvcResult adminLoginResult = mockMvc.perform(post("/api/auth/login")
+                MvcResult adminLoginResult = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(adminLogin)))
+                                .andExpect(request().asyncStarted()).andReturn()))
                                 .andExpect(status().isOk())
                                 .andReturn();
 
@@ -91,16 +99,18 @@ class PurchaseIntegrationTest {
 
                 // 4. Register User
                 RegisterRequest userRegister = new RegisterRequest("user@test.com", "password", "USER");
-                mockMvc.perform(post("/api/auth/register")
+                mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(userRegister)))
+                                .andExpect(request().asyncStarted()).andReturn()))
                                 .andExpect(status().isOk());
 
                 // 5. Login User
                 LoginRequest userLogin = new LoginRequest("user@test.com", "password");
-                MvcResult userLoginResult = mockMvc.perform(post("/api/auth/login")
+                MvcResult userLoginResult = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(userLogin)))
+                                .andExpect(request().asyncStarted()).andReturn()))
                                 .andExpect(status().isOk())
                                 .andReturn();
 
@@ -125,4 +135,51 @@ class PurchaseIntegrationTest {
                 assertEquals(quantity, purchase.getQuantity());
                 assertEquals(0, BigDecimal.valueOf(50.0).compareTo(purchase.getTotalPrice()));
         }
+
+        @Test
+        void checkout_ShouldBuyAvailableLines_AndReportFailedOnes() throws Exception {
+                Sweet ladoo = sweetRepository.save(new Sweet(null, "Ladoo", "Traditional", BigDecimal.valueOf(10.0),
+                                10, "Description", null));
+                Sweet barfi = sweetRepository.save(new Sweet(null, "Barfi", "Traditional", BigDecimal.valueOf(4.0),
+                                1, "Description", null));
+
+                RegisterRequest userRegister = new RegisterRequest("cart@test.com", "password", "USER");
+                mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/register")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(userRegister)))
+                                .andExpect(request().asyncStarted()).andReturn()))
+                                .andExpect(status().isOk());
+                MvcResult login = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new LoginRequest("cart@test.com", "password"))))
+                                .andExpect(request().asyncStarted()).andReturn()))
+                                .andExpect(status().isOk())
+                                .andReturn();
+                String userToken = objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+
+                CheckoutRequest cart = new CheckoutRequest(List.of(
+                                new CheckoutItem(ladoo.getId(), 3),
+                                new CheckoutItem(barfi.getId(), 2),
+                                new CheckoutItem(ladoo.getId(), 1)));
+                MvcResult result = mockMvc.perform(post("/api/sweets/checkout")
+                                .header("Authorization", "Bearer " + userToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(cart)))
+                                .andExpect(status().isOk())
+                                .andReturn();
+
+                JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+                assertEquals(2, body.get("purchasedLines").asInt());
+                assertEquals(0, BigDecimal.valueOf(40.0).compareTo(body.get("totalPrice").decimalValue()));
+                assertTrue(body.get("lines").get(0).get("purchased").asBoolean());
+                assertEquals("Insufficient stock", body.get("lines").get(1).get("error").asText());
+                assertTrue(body.get("lines").get(2).get("purchased").asBoolean());
+
+                assertEquals(6, sweetRepository.findById(ladoo.getId()).orElseThrow().getQuantity());
+                assertEquals(1, sweetRepository.findById(barfi.getId()).orElseThrow().getQuantity());
+                assertEquals(2, purchaseRepository.count());
+                assertTrue(purchaseRepository.findAll().stream()
+                                .allMatch(p -> "cart@test.com".equals(p.getCustomerEmail())
+                                                && p.getCreatedDate() != null));
+        }
 }
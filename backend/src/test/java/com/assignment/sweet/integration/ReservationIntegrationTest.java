@@ -0,0 +1,199 @@
+package com.assignment.sweet.integration;
+
+import com.assignment.sweet.model.Purchase;
+import com.assignment.sweet.model.Reservation;
+import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.PurchaseRepository;
+import com.assignment.sweet.repository.ReservationRepository;
+import com.assignment.sweet.repository.SweetRepository;
+import com.assignment.sweet.service.ReservationService;
+import com.assignment.sweet.service.ReservationSweeper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checkout holds against the real schema: held units leave available stock,
+ * and come back on expiry or through reconciliation. Runs on its own database
+ * with a short TTL; the background sweeper and reconciliation are driven by
+ * the tests. Holds written straight to the tables stand in for holds placed
+ * by another replica.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reservations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "reservations.ttl=500ms",
+        "reservations.sweep-interval=1h",
+        "reservations.reconcile-interval=1h"
+})
+class ReservationIntegrationTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationSweeper reservationSweeper;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private PurchaseRepository purchaseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long sweetId;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        purchaseRepository.deleteAll();
+        sweetRepository.deleteAll();
+        sweetId = sweetRepository.save(new Sweet(null, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 10,
+                "Flash sale", null)).getId();
+    }
+
+    private int available() {
+        return sweetRepository.findById(sweetId).orElseThrow().getQuantity();
+    }
+
+    private int reserved() {
+        return jdbcTemplate.queryForObject("SELECT reserved FROM sweets WHERE id = ?", Integer.class, sweetId);
+    }
+
+    @Test
+    void confirmedHold_ShouldBecomePurchase_WithoutTouchingStockAgain() {
+        long id = reservationService.reserve(sweetId, 4, "buyer@test.com").getId();
+        assertEquals(6, available());
+        assertEquals(4, reserved());
+
+        Purchase purchase = reservationService.confirm(id, "buyer@test.com");
+
+        assertEquals(4, purchase.getQuantity());
+        assertEquals(0, BigDecimal.valueOf(40).compareTo(purchase.getTotalPrice()));
+        assertEquals(6, available());
+        assertEquals(0, reserved());
+        assertEquals(1, purchaseRepository.count());
+    }
+
+    @Test
+    void expiredHold_ShouldReturnToStock_OnlyOnce() throws Exception {
+        long id = reservationService.reserve(sweetId, 4, "buyer@test.com").getId();
+        assertEquals(0, reservationSweeper.sweepExpired());
+
+        Thread.sleep(600);
+        assertEquals("Reservation expired", assertThrows(RuntimeException.class,
+                () -> reservationService.confirm(id, "buyer@test.com")).getMessage());
+        // Two replicas sweeping the same due hold
+        List<Reservation> due = reservationService.findExpired(10);
+        assertEquals(1, reservationSweeper.sweepExpired());
+        assertFalse(reservationService.expire(due.get(0)));
+
+        assertEquals(10, available());
+        assertEquals(0, reserved());
+        assertEquals(0, reservationService.activeReservations());
+    }
+
+    @Test
+    void reconcile_ShouldReturnOrphanedUnits_AndKeepEveryReplicasHolds() {
+        reservationService.reserve(sweetId, 3, "buyer@test.com");
+        // A hold placed by another replica
+        jdbcTemplate.update("UPDATE sweets SET quantity = quantity - 2, reserved = reserved + 2 WHERE id = ?",
+                sweetId);
+        jdbcTemplate.update("INSERT INTO reservations (sweet_id, quantity, customer_email, expires_at) "
+                + "VALUES (?, 2, 'other@test.com', ?)", sweetId, Timestamp.from(Instant.now().plusSeconds(600)));
+        // Units with no hold at all, e.g. reserved by a version that kept holds in memory
+        jdbcTemplate.update("UPDATE sweets SET quantity = quantity - 5, reserved = reserved + 5 WHERE id = ?",
+                sweetId);
+
+        assertEquals(5, reservationSweeper.reconcile());
+
+        assertEquals(5, available());
+        assertEquals(5, reserved());
+        assertEquals(5, reservationService.heldUnits(sweetId));
+        assertEquals(0, reservationSweeper.reconcile());
+    }
+
+    @Test
+    void confirm_ShouldDropHoldWithoutReleasing_WhenUnitsAreNoLongerReserved() {
+        long id = reservationService.reserve(sweetId, 4, "buyer@test.com").getId();
+        // The units left reserved behind the hold's back
+        jdbcTemplate.update("UPDATE sweets SET reserved = 0 WHERE id = ?", sweetId);
+
+        assertEquals("Reservation no longer held", assertThrows(RuntimeException.class,
+                () -> reservationService.confirm(id, "buyer@test.com")).getMessage());
+
+        assertEquals(0, reservationService.activeReservations());
+        assertEquals(6, available());
+        assertEquals(0, purchaseRepository.count());
+    }
+
+    @Test
+    void cancelledHold_ShouldNotBeConfirmable() {
+        long id = reservationService.reserve(sweetId, 4, "buyer@test.com").getId();
+
+        reservationService.cancel(id, "buyer@test.com");
+
+        assertEquals("Reservation not found", assertThrows(RuntimeException.class,
+                () -> reservationService.confirm(id, "buyer@test.com")).getMessage());
+        assertEquals(10, available());
+        assertEquals(0, reserved());
+    }
+
+    @Test
+    void concurrentHolds_ShouldNeverOversell() throws Exception {
+        int threads = 8;
+        AtomicInteger held = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String buyer = "buyer" + t + "@test.com";
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 5; i++) {
+                    try {
+                        reservationService.reserve(sweetId, 1, buyer);
+                        held.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        assertEquals("Insufficient stock", e.getMessage());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(10, held.get());
+        assertEquals(0, available());
+        assertEquals(10, reserved());
+        assertEquals(10, reservationService.heldUnits(sweetId));
+        assertThrows(RuntimeException.class, () -> reservationService.reserve(sweetId, 1, "late@test.com"));
+    }
+}
@@ -0,0 +1,209 @@
+package com.assignment.sweet.integration;
+
+import com.assignment.sweet.dto.CheckoutItem;
+import com.assignment.sweet.exception.SweetConflictException;
+import com.assignment.sweet.model.Purchase;
+import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.PurchaseRepository;
+import com.assignment.sweet.repository.SweetRepository;
+import com.assignment.sweet.service.SweetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers a single sweet from many threads and checks that the conditional
+ * stock decrement never oversells, that overlapping cart checkouts
+ * neither oversell nor deadlock, and that admin edits running alongside
+ * purchases never lose stock.
+ */
+@SpringBootTest
+class StockConcurrencyIntegrationTest {
+
+    private static final int INITIAL_STOCK = 50;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private PurchaseRepository purchaseRepository;
+
+    @BeforeEach
+    void setUp() {
+        purchaseRepository.deleteAll();
+        sweetRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentPurchases_ShouldNeverOversell() throws Exception {
+        Sweet sweet = sweetRepository.save(new Sweet(null, "Contended Ladoo", "Traditional",
+                BigDecimal.valueOf(10.0), INITIAL_STOCK, "Flash sale", null));
+        Long id = sweet.getId();
+
+        AtomicInteger unitsSold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final int qty = (t % 3) + 1;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        sweetService.purchaseSweet(id, qty, "buyer@test.com");
+                        unitsSold.addAndGet(qty);
+                    } catch (RuntimeException e) {
+                        assertEquals("Insufficient stock", e.getMessage());
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int unitsLeft = sweetRepository.findById(id).orElseThrow().getQuantity();
+        int unitsRecorded = purchaseRepository.findAll().stream().mapToInt(Purchase::getQuantity).sum();
+
+        assertTrue(unitsLeft >= 0, "Stock must never go negative");
+        assertTrue(rejected.get() > 0, "Demand exceeds stock, so some purchases must be rejected");
+        assertEquals(INITIAL_STOCK, unitsSold.get() + unitsLeft);
+        assertEquals(unitsSold.get(), unitsRecorded);
+    }
+
+    @Test
+    void concurrentCheckouts_WithOverlappingCarts_ShouldNeitherDeadlockNorOversell() throws Exception {
+        Long first = sweetRepository.save(new Sweet(null, "Ladoo", "Traditional",
+                BigDecimal.valueOf(10.0), INITIAL_STOCK, "Flash sale", null)).getId();
+        Long second = sweetRepository.save(new Sweet(null, "Barfi", "Traditional",
+                BigDecimal.valueOf(5.0), INITIAL_STOCK, "Flash sale", null)).getId();
+
+        AtomicInteger linesPurchased = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            // Half of the carts list the sweets in the opposite order
+            List<CheckoutItem> cart = t % 2 == 0
+                    ? List.of(new CheckoutItem(first, 1), new CheckoutItem(second, 1))
+                    : List.of(new CheckoutItem(second, 1), new CheckoutItem(first, 1));
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    linesPurchased.addAndGet(sweetService.checkout(cart, "buyer@test.com").getPurchasedLines());
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int unitsLeft = sweetRepository.findById(first).orElseThrow().getQuantity()
+                + sweetRepository.findById(second).orElseThrow().getQuantity();
+        List<Purchase> purchases = purchaseRepository.findAll();
+
+        assertEquals(0, unitsLeft, "Demand exceeds stock, so both sweets must sell out");
+        assertEquals(2 * INITIAL_STOCK, linesPurchased.get());
+        assertEquals(2 * INITIAL_STOCK, purchases.stream().mapToInt(Purchase::getQuantity).sum());
+        assertTrue(purchases.stream().allMatch(p -> p.getCreatedDate() != null && p.getId() != null));
+    }
+
+    @Test
+    void adminEditsAndRestocks_DuringPurchases_ShouldNotLoseStock() throws Exception {
+        int initialStock = 10_000;
+        Long id = sweetRepository.save(new Sweet(null, "Ladoo", "Traditional",
+                BigDecimal.valueOf(10.0), initialStock, "Flash sale", null)).getId();
+
+        AtomicInteger unitsSold = new AtomicInteger();
+        AtomicInteger unitsRestocked = new AtomicInteger();
+        AtomicInteger edits = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            // One admin editing, a few restocking, the rest buying
+            final int role = t == 0 ? 0 : t % 4 == 1 ? 1 : 2;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    if (role == 0) {
+                        // A full form resubmission with a stale quantity, without a version
+                        sweetService.updateSweet(id, new Sweet(null, "Ladoo", "Traditional",
+                                BigDecimal.valueOf(10 + i), initialStock, "Edit " + i, null), null);
+                        edits.incrementAndGet();
+                    } else if (role == 1) {
+                        sweetService.restockSweet(id, 2);
+                        unitsRestocked.addAndGet(2);
+                    } else {
+                        sweetService.purchaseSweet(id, 1, "buyer@test.com");
+                        unitsSold.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        Sweet after = sweetRepository.findById(id).orElseThrow();
+        assertEquals(initialStock + unitsRestocked.get() - unitsSold.get(), after.getQuantity());
+        assertEquals(edits.get(), after.getVersion());
+    }
+
+    @Test
+    void updateSweet_WithStaleVersion_ShouldConflictAndKeepCurrentState() {
+        Sweet sweet = sweetRepository.save(new Sweet(null, "Ladoo", "Traditional",
+                BigDecimal.valueOf(10.0), 20, "Flash sale", null));
+        Sweet changes = new Sweet(null, null, null, BigDecimal.valueOf(12.0), null, null, null);
+        changes.setVersion(sweet.getVersion());
+        Sweet edited = sweetService.updateSweet(sweet.getId(), changes, null);
+        sweetService.purchaseSweet(sweet.getId(), 5, "buyer@test.com");
+
+        // Purchases do not bump the version, another admin edit does
+        Sweet stale = new Sweet(null, null, null, BigDecimal.valueOf(9.0), null, null, null);
+        stale.setVersion(sweet.getVersion());
+        SweetConflictException conflict = assertThrows(SweetConflictException.class,
+                () -> sweetService.updateSweet(sweet.getId(), stale, null));
+
+        assertEquals(edited.getVersion(), conflict.getCurrent().getVersion());
+        assertEquals(0, BigDecimal.valueOf(12.0).compareTo(conflict.getCurrent().getPrice()));
+        assertEquals(15, conflict.getCurrent().getQuantity());
+    }
+}
@@ -0,0 +1,89 @@
+package com.assignment.sweet.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UploadsServingIntegrationTest {
+
+    private static final String HASHED = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef-card.jpg";
+    private static final String LEGACY = "legacy-upload-test.jpg";
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final Path uploads = Paths.get("uploads");
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(uploads);
+        Files.write(uploads.resolve(HASHED), CONTENT);
+        Files.write(uploads.resolve(LEGACY), CONTENT);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(uploads.resolve(HASHED));
+        Files.deleteIfExists(uploads.resolve(LEGACY));
+    }
+
+    @Test
+    void contentAddressedFile_ShouldBeImmutableWithHashEtag() throws Exception {
+        MvcResult result = mockMvc.perform(get("/uploads/" + HASHED))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASHED.replace(".jpg", "") + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        assertArrayEquals(CONTENT, result.getResponse().getContentAsByteArray());
+
+        mockMvc.perform(get("/uploads/" + HASHED)
+                .header(HttpHeaders.IF_NONE_MATCH, result.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void legacyFile_ShouldGetShortCacheLifetime() throws Exception {
+        mockMvc.perform(get("/uploads/" + LEGACY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, not(containsString("immutable"))))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=3600")))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void rangeRequest_ShouldReturnPartialContent() throws Exception {
+        MvcResult result = mockMvc.perform(get("/uploads/" + HASHED).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andReturn();
+        assertArrayEquals("2345".getBytes(), result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void uploads_ShouldBypassAuthentication_EvenWithInvalidToken() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASHED).header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt"))
+                .andExpect(status().isOk());
+    }
+}
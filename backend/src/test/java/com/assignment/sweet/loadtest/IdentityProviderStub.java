@@ -0,0 +1,148 @@
+package com.assignment.sweet.loadtest;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for Clerk: serves a JWKS document, mints RS256 session
+ * tokens shaped like Clerk's (issuer, {@code kid}, {@code o.rol} and
+ * {@code org_role}) and signs webhook payloads the way Svix does, so the
+ * backend can run its real verification paths without a Clerk account.
+ *
+ * Point {@code clerk.jwks-uri} at {@link #jwksUri()} and
+ * {@code clerk.webhook-secret} at {@link #webhookSecret()}.
+ */
+public class IdentityProviderStub implements AutoCloseable {
+
+    private static final String KID = "loadtest-key";
+
+    private final HttpServer server;
+    private final KeyPair keyPair;
+    private final Algorithm algorithm;
+    private final byte[] webhookKey;
+    private final AtomicLong jwksFetches = new AtomicLong();
+
+    public IdentityProviderStub() throws IOException, GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+        algorithm = Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate());
+        webhookKey = new byte[24];
+        new SecureRandom().nextBytes(webhookKey);
+
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        byte[] jwks = new ObjectMapper().writeValueAsBytes(Map.of("keys", List.of(Map.of(
+                "kid", KID,
+                "kty", "RSA",
+                "alg", "RS256",
+                "use", "sig",
+                "n", base64Url(publicKey.getModulus()),
+                "e", base64Url(publicKey.getPublicExponent())))));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            jwksFetches.incrementAndGet();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            exchange.getResponseBody().write(jwks);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    /** Token issuer; Clerk's issuer is the JWKS URL without the well-known path. */
+    public String issuer() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public String jwksUri() {
+        return issuer() + "/.well-known/jwks.json";
+    }
+
+    public String webhookSecret() {
+        return "whsec_" + Base64.getEncoder().encodeToString(webhookKey);
+    }
+
+    public long jwksFetches() {
+        return jwksFetches.get();
+    }
+
+    /**
+     * A session token for {@code userId}. Admins carry the role both as the
+     * organization claim {@code o.rol} and as the custom {@code org_role}
+     * claim, the two shapes {@code ClerkAuthenticationFilter} reads first.
+     */
+    public String mintToken(String userId, String email, boolean admin, Duration ttl) {
+        Instant now = Instant.now();
+        return JWT.create()
+                .withKeyId(KID)
+                .withIssuer(issuer())
+                .withSubject(userId)
+                .withIssuedAt(now)
+                .withNotBefore(now.minusSeconds(5))
+                .withExpiresAt(now.plus(ttl))
+                .withClaim("email", email)
+                .withClaim("first_name", "Load")
+                .withClaim("last_name", userId)
+                .withClaim("org_role", admin ? "org:admin" : "org:member")
+                .withClaim("o", Map.of("id", "org_loadtest", "rol", admin ? "admin" : "member", "slg", "loadtest"))
+                .sign(algorithm);
+    }
+
+    /**
+     * Svix signature headers for {@code payload}: {@code v1} is the base64
+     * HMAC-SHA256 of {@code id.timestamp.payload} under the decoded secret.
+     */
+    public Map<String, String> signWebhook(String payload) {
+        String id = "msg_" + UUID.randomUUID().toString().replace("-", "");
+        String timestamp = Long.toString(Instant.now().getEpochSecond());
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookKey, "HmacSHA256"));
+            byte[] signature = mac.doFinal((id + "." + timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+            return Map.of(
+                    "svix-id", id,
+                    "svix-timestamp", timestamp,
+                    "svix-signature", "v1," + Base64.getEncoder().encodeToString(signature));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,426 @@
+package com.assignment.sweet.loadtest;
+
+import com.assignment.sweet.SweetApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load generator. Starts the backend on a random port with Clerk
+ * verification pointed at an {@link IdentityProviderStub}, creates users
+ * through signed {@code user.created} webhooks and a catalog through the admin
+ * API, then runs a scripted mix of requests from closed-loop workers (each
+ * sends its next request as soon as the previous one returns) and reports
+ * throughput and latency percentiles per operation.
+ *
+ * The database is a private in-memory H2 instance unless
+ * {@code spring.datasource.*} system properties point elsewhere. Configuration is read from {@code loadtest.*}
+ * system properties, see {@link Config#fromSystemProperties()}:
+ *
+ * <pre>mvn -Ploadtest -DskipTests verify -Dloadtest.mix=checkout -Dloadtest.concurrency=32</pre>
+ */
+public final class LoadTestHarness {
+
+    public enum Operation {
+        CATALOG, SEARCH, PURCHASE, HISTORY, ADMIN_EDIT
+    }
+
+    /** Named mixes as operation weights; any other value is parsed as {@code op=weight,...}. */
+    static final Map<String, String> MIXES = Map.of(
+            "browse", "catalog=70,search=20,purchase=5,history=5",
+            "checkout", "catalog=30,purchase=50,history=20",
+            "admin", "catalog=50,purchase=20,history=10,admin_edit=20",
+            "mixed", "catalog=55,search=10,purchase=20,history=10,admin_edit=5");
+
+    public record Config(String mix, int users, int admins, int sweets, int concurrency,
+            Duration warmup, Duration duration, Path result) {
+
+        /**
+         * {@code loadtest.mix} (default {@code mixed}), {@code loadtest.users}
+         * (50), {@code loadtest.admins} (2), {@code loadtest.sweets} (50),
+         * {@code loadtest.concurrency} (16), {@code loadtest.warmup} (10s),
+         * {@code loadtest.duration} (60s) and {@code loadtest.result}
+         * (JSON report path, none by default).
+         */
+        public static Config fromSystemProperties() {
+            String result = System.getProperty("loadtest.result", "");
+            return new Config(
+                    System.getProperty("loadtest.mix", "mixed"),
+                    Integer.getInteger("loadtest.users", 50),
+                    Integer.getInteger("loadtest.admins", 2),
+                    Integer.getInteger("loadtest.sweets", 50),
+                    Integer.getInteger("loadtest.concurrency", 16),
+                    Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)),
+                    Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+                    result.isBlank() ? null : Path.of(result));
+        }
+    }
+
+    public record OperationResult(String operation, long requests, long errors, double throughput,
+            double p50Millis, double p90Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+
+    public record Report(String mix, int concurrency, double seconds, long requests, long errors,
+            double throughput, List<OperationResult> operations) {
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Config config;
+    private final Map<Operation, Integer> weights;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+    private List<String> userTokens;
+    private List<String> adminTokens;
+    private List<Long> sweetIds;
+
+    LoadTestHarness(Config config) {
+        this.config = config;
+        this.weights = parseMix(MIXES.getOrDefault(config.mix(), config.mix()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Report report = run(Config.fromSystemProperties());
+        System.out.println(format(report));
+    }
+
+    public static Report run(Config config) throws Exception {
+        LoadTestHarness harness = new LoadTestHarness(config);
+        try (IdentityProviderStub idp = new IdentityProviderStub()) {
+            ConfigurableApplicationContext context = harness.start(idp);
+            try {
+                harness.seed(idp);
+                Report report = harness.drive();
+                if (config.result() != null) {
+                    Files.createDirectories(config.result().toAbsolutePath().getParent());
+                    JSON.writer(SerializationFeature.INDENT_OUTPUT).writeValue(config.result().toFile(), report);
+                }
+                return report;
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(IdentityProviderStub idp) {
+        Map<String, Object> props = new HashMap<>();
+        props.put("server.port", 0);
+        props.put("logging.level.root", "WARN");
+        props.put("clerk.jwks-uri", idp.jwksUri());
+        props.put("clerk.webhook-secret", idp.webhookSecret());
+
+        SpringApplication app = new SpringApplication(SweetApplication.class);
+        app.setDefaultProperties(props);
+        // A private H2 database, not the shared one from the test application.properties,
+        // unless the caller points spring.datasource.url at a real database
+        String[] args = System.getProperty("spring.datasource.url") != null ? new String[0]
+                : new String[] { "--spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID()
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1" };
+        ConfigurableApplicationContext context = app.run(args);
+        baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+        return context;
+    }
+
+    /**
+     * Users arrive the way they do in production: a signed {@code user.created}
+     * webhook, then a session token. Sweets are created through the admin API.
+     */
+    private void seed(IdentityProviderStub idp) throws Exception {
+        Duration ttl = config.warmup().plus(config.duration()).plusMinutes(10);
+        userTokens = new ArrayList<>();
+        adminTokens = new ArrayList<>();
+        for (int i = 0; i < config.users() + config.admins(); i++) {
+            boolean admin = i >= config.users();
+            String userId = "user_loadtest_" + i;
+            String email = (admin ? "admin" : "user") + i + "@loadtest.example";
+            String payload = JSON.writeValueAsString(Map.of(
+                    "type", "user.created",
+                    "data", Map.of(
+                            "id", userId,
+                            "first_name", "Load",
+                            "last_name", "Test " + i,
+                            "email_addresses", List.of(Map.of("id", "idn_" + i, "email_address", email)))));
+            HttpRequest.Builder webhook = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/clerk/webhook"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(payload));
+            idp.signWebhook(payload).forEach(webhook::header);
+            check(send(webhook.build()));
+            (admin ? adminTokens : userTokens).add("Bearer " + idp.mintToken(userId, email, admin, ttl));
+        }
+        if (adminTokens.isEmpty()) {
+            adminTokens.add("Bearer " + idp.mintToken("user_loadtest_admin", "admin@loadtest.example", true, ttl));
+        }
+
+        String[] categories = { "Candy", "Chocolate", "Pastry", "Gummy" };
+        sweetIds = new ArrayList<>();
+        for (int i = 0; i < config.sweets(); i++) {
+            Map<String, Object> sweet = sweetJson(i, categories[i % categories.length], "Load test sweet " + i);
+            HttpResponse<byte[]> created = check(send(multipart(HttpRequest.newBuilder(URI.create(baseUrl + "/api/sweets")),
+                    sweet, "POST", adminTokens.get(0))));
+            sweetIds.add(JSON.readTree(created.body()).get("id").asLong());
+        }
+    }
+
+    private static Map<String, Object> sweetJson(int i, String category, String description) {
+        Map<String, Object> sweet = new LinkedHashMap<>();
+        sweet.put("name", "Sweet " + i);
+        sweet.put("category", category);
+        sweet.put("price", new BigDecimal("1.50").add(BigDecimal.valueOf(i % 10, 1)));
+        // Effectively unlimited, so purchases never fail on stock
+        sweet.put("quantity", 1_000_000_000);
+        sweet.put("description", description);
+        return sweet;
+    }
+
+    private Report drive() throws Exception {
+        Operation[] schedule = schedule(weights);
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency(), r -> {
+            Thread t = new Thread(r, "loadtest-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        List<Future<Map<Operation, Samples>>> results = new ArrayList<>();
+        try {
+            for (int w = 0; w < config.concurrency(); w++) {
+                results.add(workers.submit(() -> work(schedule, measureFrom, end)));
+            }
+            Map<Operation, Samples> merged = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, Samples>> result : results) {
+                result.get().forEach((op, samples) -> merged.computeIfAbsent(op, o -> new Samples()).addAll(samples));
+            }
+            return report(merged, config.duration().toNanos() / 1e9);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Map<Operation, Samples> work(Operation[] schedule, long measureFrom, long end) {
+        Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Operation op = schedule[random.nextInt(schedule.length)];
+            boolean ok;
+            try {
+                ok = send(request(op, random)).statusCode() / 100 == 2;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long done = System.nanoTime();
+            if (now >= measureFrom && done <= end) {
+                samples.computeIfAbsent(op, o -> new Samples()).add(done - now, ok);
+            }
+        }
+        return samples;
+    }
+
+    private HttpRequest request(Operation op, ThreadLocalRandom random) {
+        String user = userTokens.isEmpty() ? adminTokens.get(0) : userTokens.get(random.nextInt(userTokens.size()));
+        Long sweetId = sweetIds.get(random.nextInt(sweetIds.size()));
+        return switch (op) {
+            case CATALOG -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/sweets"))
+                    .header("Authorization", user)
+                    .header("Accept-Encoding", "gzip")
+                    .GET().build();
+            case SEARCH -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/sweets/search?category="
+                    + (random.nextBoolean() ? "Candy" : "Chocolate") + "&sort=PRICE_ASC&size=20"))
+                    .header("Authorization", user)
+                    .GET().build();
+            case PURCHASE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/sweets/" + sweetId + "/purchase"))
+                    .header("Authorization", user)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(Integer.toString(1 + random.nextInt(3))))
+                    .build();
+            case HISTORY -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/purchases/my"))
+                    .header("Authorization", user)
+                    .GET().build();
+            case ADMIN_EDIT -> adminEdit(sweetId, random);
+        };
+    }
+
+    // Alternates between a restock and an update of the sweet's details (the
+    // quantity in the update is ignored, so it cannot undo purchases)
+    private HttpRequest adminEdit(Long sweetId, ThreadLocalRandom random) {
+        String admin = adminTokens.get(random.nextInt(adminTokens.size()));
+        if (random.nextBoolean()) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/sweets/" + sweetId + "/restock"))
+                    .header("Authorization", admin)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("10"))
+                    .build();
+        }
+        int index = sweetIds.indexOf(sweetId);
+        Map<String, Object> sweet = sweetJson(index, index % 2 == 0 ? "Candy" : "Chocolate",
+                "Edited at " + System.currentTimeMillis());
+        return multipart(HttpRequest.newBuilder(URI.create(baseUrl + "/api/sweets/" + sweetId)), sweet, "PUT", admin);
+    }
+
+    private static HttpRequest multipart(HttpRequest.Builder builder, Map<String, Object> sweet, String method,
+            String authorization) {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try {
+            body.writeBytes(("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"sweet\"\r\n"
+                    + "Content-Type: application/json\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.writeBytes(JSON.writeValueAsBytes(sweet));
+            body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.header("Authorization", authorization)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static HttpResponse<byte[]> check(HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri() + " returned "
+                    + response.statusCode() + ": " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must be 'operation=weight': " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operations: " + mix);
+        }
+        return weights;
+    }
+
+    // One slot per unit of weight, so a uniform pick follows the mix
+    private static Operation[] schedule(Map<Operation, Integer> weights) {
+        List<Operation> slots = new ArrayList<>();
+        weights.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(op);
+            }
+        });
+        return slots.toArray(Operation[]::new);
+    }
+
+    private Report report(Map<Operation, Samples> samples, double seconds) {
+        List<OperationResult> operations = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        for (Operation op : weights.keySet()) {
+            Samples s = samples.getOrDefault(op, new Samples());
+            long[] sorted = s.sorted();
+            operations.add(new OperationResult(op.name().toLowerCase(Locale.ROOT), sorted.length, s.errors,
+                    sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.90),
+                    percentile(sorted, 0.99), percentile(sorted, 0.999), percentile(sorted, 1.0)));
+            requests += sorted.length;
+            errors += s.errors;
+        }
+        return new Report(config.mix(), config.concurrency(), seconds, requests, errors, requests / seconds,
+                operations);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    static String format(Report report) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "mix=%s concurrency=%d duration=%.0fs requests=%d errors=%d "
+                + "throughput=%.1f req/s%n", report.mix(), report.concurrency(), report.seconds(),
+                report.requests(), report.errors(), report.throughput()));
+        out.append(String.format(Locale.ROOT, "%-12s %9s %7s %10s %9s %9s %9s %9s %9s%n", "operation",
+                "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (OperationResult r : report.operations()) {
+            out.append(String.format(Locale.ROOT, "%-12s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.operation(), r.requests(), r.errors(), r.throughput(), r.p50Millis(), r.p90Millis(),
+                    r.p99Millis(), r.p999Millis(), r.maxMillis()));
+        }
+        return out.toString();
+    }
+
+    /** Latencies (nanos) of one operation, recorded by a single worker and merged at the end. */
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long nanos, boolean ok) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, size + other.size));
+            }
+            System.arraycopy(other.latencies, 0, latencies, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
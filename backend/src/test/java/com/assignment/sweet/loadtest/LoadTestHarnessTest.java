@@ -0,0 +1,43 @@
+package com.assignment.sweet.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Short run of every operation through the real Clerk verification and
+ * webhook signature paths, so the harness keeps working as the API evolves.
+ */
+class LoadTestHarnessTest {
+
+    @Test
+    void run_ShouldDriveEveryOperation_WithoutErrors(@TempDir Path dir) throws Exception {
+        Path result = dir.resolve("loadtest-result.json");
+        LoadTestHarness.Config config = new LoadTestHarness.Config(
+                "catalog=1,search=1,purchase=1,history=1,admin_edit=1", 3, 1, 5, 2,
+                Duration.ZERO, Duration.ofSeconds(2), result);
+
+        LoadTestHarness.Report report = LoadTestHarness.run(config);
+
+        assertEquals(5, report.operations().size());
+        for (LoadTestHarness.OperationResult operation : report.operations()) {
+            assertTrue(operation.requests() > 0, operation.operation() + " never ran");
+            assertEquals(0, operation.errors(), operation.operation() + " failed");
+            assertTrue(operation.p50Millis() <= operation.p99Millis());
+        }
+        assertTrue(Files.size(result) > 0);
+    }
+
+    @Test
+    void parseMix_ShouldResolveNamedMixes_AndRejectUnknownOperations() {
+        assertEquals(4, LoadTestHarness.parseMix(LoadTestHarness.MIXES.get("admin")).size());
+        assertEquals(1, LoadTestHarness.parseMix("catalog=3,purchase=0").size());
+        assertThrows(IllegalArgumentException.class, () -> LoadTestHarness.parseMix("checkout=5"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestHarness.parseMix("catalog"));
+    }
+}
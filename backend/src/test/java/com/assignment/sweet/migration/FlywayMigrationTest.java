@@ -0,0 +1,147 @@
+package com.assignment.sweet.migration;
+
+import com.assignment.sweet.SweetApplication;
+import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.SweetRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the real migrations against H2 in PostgreSQL mode: on an empty
+ * database, and on one shaped like a database created by the former
+ * {@code ddl-auto=update} setup (identity ids, existing rows, no history),
+ * which must then pass Hibernate's schema validation.
+ */
+class FlywayMigrationTest {
+
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:migration-" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    }
+
+    private Flyway flyway() {
+        // Same settings as application.properties
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration")
+                .javaMigrations(new PooledIdSequencesMigration(), new CategorySearchIndexMigration())
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    @Test
+    void emptyDatabase_ShouldMigrateToLatest_WithIndexesAndSequences() throws Exception {
+        assertEquals(8, flyway().migrate().migrationsExecuted);
+
+        assertEquals("8", flyway().info().current().getVersion().getVersion());
+        // On H2 the category index stays the plain one from version 3 (no expression indexes)
+        assertTrue(indexes().containsAll(List.of("idx_users_clerk_id_unique", "idx_purchases_customer_created",
+                "idx_purchases_sweet_created", "idx_purchases_created", "idx_sweets_category_price")));
+        // First block of pooled ids starts at 1
+        assertEquals(PooledIdSequencesMigration.ALLOCATION_SIZE, nextValue("sweets_seq"));
+        assertEquals(PooledIdSequencesMigration.ALLOCATION_SIZE, nextValue("purchases_seq"));
+
+        // Re-running is a no-op
+        assertEquals(0, flyway().migrate().migrationsExecuted);
+    }
+
+    @Test
+    void legacyDatabase_ShouldBeBaselined_AndPassSchemaValidation() throws Exception {
+        // Exactly what ddl-auto=update and schema.sql produced before the series (the
+        // clerk_id index is partial on PostgreSQL, which H2 does not support)
+        execute("CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, clerk_id VARCHAR(255), "
+                + "email VARCHAR(255) NOT NULL UNIQUE, auth_type VARCHAR(255), role VARCHAR(255) NOT NULL, "
+                + "first_name VARCHAR(255), last_name VARCHAR(255), password VARCHAR(255))");
+        execute("CREATE UNIQUE INDEX idx_users_clerk_id_unique ON users (clerk_id)");
+        execute("CREATE TABLE sweets (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "name VARCHAR(255) NOT NULL, category VARCHAR(255) NOT NULL, price NUMERIC(38, 2) NOT NULL, "
+                + "quantity INTEGER NOT NULL, description TEXT, image_url VARCHAR(255))");
+        execute("CREATE TABLE purchases (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "sweet_id BIGINT NOT NULL, sweet_name VARCHAR(255) NOT NULL, quantity INTEGER NOT NULL, "
+                + "price_per_unit NUMERIC(38, 2) NOT NULL, total_price NUMERIC(38, 2) NOT NULL, "
+                + "customer_email VARCHAR(255) NOT NULL, created_date TIMESTAMP(6) NOT NULL)");
+        execute("INSERT INTO sweets (id, name, category, price, quantity) VALUES (120, 'Ladoo', 'Candy', 2.50, 5)");
+        execute("INSERT INTO purchases (id, sweet_id, sweet_name, quantity, price_per_unit, total_price, "
+                + "customer_email, created_date) VALUES (7, 120, 'Ladoo', 1, 2.50, 2.50, 'a@b.c', CURRENT_TIMESTAMP)");
+
+        // Baseline (version 1) plus versions 2 to 8
+        assertEquals(7, flyway().migrate().migrationsExecuted);
+
+        // Hibernate reads 170 and hands out 121..170, all above the existing ids
+        assertEquals(120 + PooledIdSequencesMigration.ALLOCATION_SIZE, nextValue("sweets_seq"));
+        assertEquals(7 + PooledIdSequencesMigration.ALLOCATION_SIZE, nextValue("purchases_seq"));
+        assertTrue(indexes().containsAll(List.of("idx_purchases_customer_created", "idx_sweets_category_price")));
+        // Existing rows start at version 0
+        assertEquals(0, count("SELECT version FROM sweets WHERE id = 120"));
+
+        // The application starts against the upgraded schema (ddl-auto=validate)
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(SweetApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url, "--spring.datasource.password=")) {
+            Sweet ladoo = app.getBean(SweetRepository.class).findById(120L).orElseThrow();
+            assertEquals("Ladoo", ladoo.getName());
+            assertNull(ladoo.getThumbnailUrl());
+        }
+    }
+
+    @Test
+    void existingSequence_ShouldBeLeftWhereItIs() throws Exception {
+        flyway().migrate();
+        long issued = nextValue("sweets_seq");
+
+        // A second database that already moved to sequences keeps its position
+        execute("DROP TABLE flyway_schema_history");
+        execute("INSERT INTO sweets (id, name, category, price, quantity) VALUES (1, 'Ladoo', 'Candy', 2.50, 5)");
+        flyway().migrate();
+
+        assertEquals(issued + PooledIdSequencesMigration.ALLOCATION_SIZE, nextValue("sweets_seq"));
+    }
+
+    private List<String> indexes() throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Connection c = DriverManager.getConnection(url, "sa", "");
+                ResultSet rs = c.createStatement().executeQuery("SELECT index_name FROM information_schema.indexes")) {
+            while (rs.next()) {
+                names.add(rs.getString(1).toLowerCase());
+            }
+        }
+        return names;
+    }
+
+    private long nextValue(String sequence) throws SQLException {
+        return count("SELECT nextval('" + sequence + "')");
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Connection c = DriverManager.getConnection(url, "sa", "");
+                ResultSet rs = c.createStatement().executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection c = DriverManager.getConnection(url, "sa", ""); Statement s = c.createStatement()) {
+            s.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.assignment.sweet.security;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksVerifierCacheTest {
+
+    private static final String ISSUER = "https://test.clerk.accounts.dev";
+
+    private static KeyPair first;
+    private static KeyPair second;
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final AtomicReference<List<Jwk>> published = new AtomicReference<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private JwksVerifierCache cache;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        first = generator.generateKeyPair();
+        second = generator.generateKeyPair();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private JwksVerifierCache start(Jwk... keys) {
+        published.set(List.of(keys));
+        cache = new JwksVerifierCache(() -> {
+            fetches.incrementAndGet();
+            List<Jwk> current = published.get();
+            if (current == null) {
+                throw new java.io.IOException("JWKS endpoint down");
+            }
+            return current;
+        }, ISSUER, Duration.ofSeconds(30), scheduler, clock);
+        cache.start(Duration.ofHours(1));
+        return cache;
+    }
+
+    // Waits for queued refreshes on the single scheduler thread to finish
+    private void drain() throws Exception {
+        scheduler.submit(() -> {
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void start_ShouldLoadKeysEagerly_AndVerifyWithoutFetching() {
+        start(jwk("k1", first));
+
+        assertEquals(1, fetches.get());
+        assertEquals(1, cache.size());
+        String token = sign("k1", first, ISSUER);
+        assertEquals("user_1", cache.get("k1").verify(token).getSubject());
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void get_ShouldRejectWrongIssuerOrSignature() {
+        start(jwk("k1", first));
+
+        assertThrows(JWTVerificationException.class, () -> cache.get("k1").verify(sign("k1", first, "https://evil")));
+        assertThrows(JWTVerificationException.class, () -> cache.get("k1").verify(sign("k1", second, ISSUER)));
+    }
+
+    @Test
+    void unknownKid_ShouldRefreshInBackground_AtMostOncePerInterval() throws Exception {
+        start(jwk("k1", first));
+        published.set(List.of(jwk("k1", first), jwk("k2", second)));
+
+        // Rotation: unknown kid is rejected now, key set refreshed off-thread
+        assertNull(cache.get("k2"));
+        assertNull(cache.get("bogus"));
+        assertNull(cache.get("bogus-2"));
+        drain();
+        assertEquals(2, fetches.get());
+        assertNotNull(cache.get("k2"));
+
+        // A stream of unknown kids within the interval causes no further fetches
+        for (int i = 0; i < 100; i++) {
+            assertNull(cache.get("bogus-" + i));
+        }
+        drain();
+        assertEquals(2, fetches.get());
+
+        clock.advance(Duration.ofSeconds(31));
+        cache.get("bogus");
+        drain();
+        assertEquals(3, fetches.get());
+    }
+
+    @Test
+    void failedRefresh_ShouldKeepPreviousKeys() throws Exception {
+        start(jwk("k1", first));
+        published.set(null);
+
+        cache.get("k2");
+        drain();
+
+        assertEquals(1, cache.failedRefreshes());
+        assertNotNull(cache.get("k1"));
+    }
+
+    private static Jwk jwk(String kid, KeyPair keyPair) {
+        RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+        return Jwk.fromValues(Map.of("kid", kid, "kty", "RSA", "alg", "RS256", "use", "sig",
+                "n", base64Url(key.getModulus()), "e", base64Url(key.getPublicExponent())));
+    }
+
+    private static String sign(String kid, KeyPair keyPair, String issuer) {
+        return JWT.create()
+                .withKeyId(kid)
+                .withIssuer(issuer)
+                .withSubject("user_1")
+                .withExpiresAt(Instant.now().plus(Duration.ofMinutes(5)))
+                .sign(Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate()));
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.assignment.sweet.security;
+
+import com.assignment.sweet.model.AuthType;
+import com.assignment.sweet.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET_A = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String SECRET_B = "5A7234753778214125442A472D4B6150645367566B59703373367639792F423F";
+
+    private static JwtTokenProvider provider(String keyId, String secret, String previousKeys, long expiration) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secretKey", secret);
+        ReflectionTestUtils.setField(provider, "keyId", keyId);
+        ReflectionTestUtils.setField(provider, "previousKeys", previousKeys);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expiration);
+        provider.init();
+        return provider;
+    }
+
+    private static User user(String role) {
+        return new User(1L, null, "a@example.com", AuthType.LOCAL, role, null, null, "hash");
+    }
+
+    @Test
+    void parseClaims_ShouldReturnSubjectRoleAndExpiryInOneParse() {
+        JwtTokenProvider provider = provider("k1", SECRET_A, "", 60_000);
+
+        Claims claims = provider.parseClaims(provider.generateToken(user("ADMIN")));
+
+        assertEquals("a@example.com", claims.getSubject());
+        assertEquals("ADMIN", claims.get("role"));
+        assertNotNull(claims.getExpiration());
+    }
+
+    @Test
+    void isTokenValid_ShouldCheckSubject() {
+        JwtTokenProvider provider = provider("k1", SECRET_A, "", 60_000);
+        String token = provider.generateToken(user("USER"));
+
+        assertTrue(provider.isTokenValid(token, user("USER")));
+        assertFalse(provider.isTokenValid(token,
+                new User(2L, null, "b@example.com", AuthType.LOCAL, "USER", null, null, "hash")));
+    }
+
+    @Test
+    void parseClaims_ShouldRejectExpiredToken() {
+        JwtTokenProvider provider = provider("k1", SECRET_A, "", -1_000);
+
+        String token = provider.generateToken(user("USER"));
+
+        assertThrows(ExpiredJwtException.class, () -> provider.parseClaims(token));
+    }
+
+    @Test
+    void parseClaims_ShouldAcceptTokensFromRotatedOutKey() {
+        JwtTokenProvider before = provider("k1", SECRET_A, "", 60_000);
+        String oldToken = before.generateToken(user("USER"));
+
+        JwtTokenProvider after = provider("k2", SECRET_B, "k1:" + SECRET_A, 60_000);
+
+        assertEquals("a@example.com", after.parseClaims(oldToken).getSubject());
+        assertEquals("a@example.com", after.parseClaims(after.generateToken(user("USER"))).getSubject());
+    }
+
+    @Test
+    void parseClaims_ShouldRejectUnknownKeyId() {
+        JwtTokenProvider retired = provider("k1", SECRET_A, "", 60_000);
+        String token = retired.generateToken(user("USER"));
+
+        JwtTokenProvider current = provider("k2", SECRET_B, "", 60_000);
+
+        assertThrows(JwtException.class, () -> current.parseClaims(token));
+    }
+}
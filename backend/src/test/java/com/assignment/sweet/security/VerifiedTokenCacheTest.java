@@ -0,0 +1,105 @@
+package com.assignment.sweet.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static ClerkPrincipal principal(Instant expiresAt) {
+        return new ClerkPrincipal("user_1", "a@example.com", "A", "B", "USER", expiresAt);
+    }
+
+    private static VerifiedTokenCache cacheAt(Instant now, int maxSize) {
+        return new VerifiedTokenCache(maxSize, Duration.ofMinutes(5), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void get_ShouldReturnCachedPrincipalForSameToken() {
+        VerifiedTokenCache cache = cacheAt(NOW, 10);
+        ClerkPrincipal principal = principal(NOW.plusSeconds(60));
+
+        cache.put("token-a", principal);
+
+        assertSame(principal, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void get_ShouldNotOutliveTokenExpiry() {
+        MutableClock clock = new MutableClock(NOW);
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Duration.ofMinutes(5), clock);
+        cache.put("token", principal(NOW.plusSeconds(30)));
+
+        clock.now = NOW.plusSeconds(29);
+        assertNotNull(cache.get("token"));
+
+        clock.now = NOW.plusSeconds(30);
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void get_ShouldExpireAtMaxTtlForLongLivedTokens() {
+        MutableClock clock = new MutableClock(NOW);
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Duration.ofMinutes(5), clock);
+        cache.put("token", principal(NOW.plus(Duration.ofDays(1))));
+
+        clock.now = NOW.plus(Duration.ofMinutes(5));
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void put_ShouldSkipExpiredOrUnboundedTokens() {
+        VerifiedTokenCache cache = cacheAt(NOW, 10);
+
+        cache.put("expired", principal(NOW.minusSeconds(1)));
+        cache.put("no-exp", principal(null));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_ShouldStayWithinMaxSize() {
+        VerifiedTokenCache cache = cacheAt(NOW, 20);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, principal(NOW.plusSeconds(60)));
+        }
+
+        assertTrue(cache.size() <= 20);
+        assertNotNull(cache.get("token-99"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -4,16 +4,18 @@ import com.assignment.sweet.model.AuthType;
 import com.assignment.sweet.model.User;
 import com.assignment.sweet.repository.UserRepository;
 import com.assignment.sweet.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,14 +28,19 @@ class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
-    @InjectMocks
     private AuthService authService;
 
+    @BeforeEach
+    void setUp() {
+        // Saves run inline, on the thread completing the hash
+        authService = new AuthService(userRepository, passwordHashingService, jwtTokenProvider, Runnable::run);
+    }
+
     @Test
     void syncUserFromClerk_ShouldUpdateExistingUser_WhenUserExistsByClerkId() {
         // Arrange
@@ -306,4 +313,53 @@ class AuthServiceTest {
         assertTrue(exception.getMessage().contains("email already exists"));
         verify(userRepository, never()).save(any(User.class));
     }
+
+    @Test
+    void register_ShouldSaveOnPersistExecutor_NotOnHashingThread() {
+        List<Runnable> persisted = new ArrayList<>();
+        AuthService service = new AuthService(userRepository, passwordHashingService, jwtTokenProvider,
+                persisted::add);
+        when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
+        when(passwordHashingService.encodeAsync("secret")).thenReturn(CompletableFuture.completedFuture("$2a$10$h"));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CompletableFuture<User> registered = service
+                .register(new com.assignment.sweet.dto.RegisterRequest("new@example.com", "secret", null));
+
+        // Hashed, but the insert waits for the persist executor
+        assertFalse(registered.isDone());
+        verify(userRepository, never()).save(any(User.class));
+        persisted.forEach(Runnable::run);
+        assertEquals("$2a$10$h", registered.join().getPassword());
+        assertEquals(AuthType.LOCAL, registered.join().getAuthType());
+    }
+
+    @Test
+    void login_ShouldUpgradeHash_WhenStoredCostIsOutdated() {
+        User user = new User(7L, null, "local@example.com", AuthType.LOCAL, "USER", null, null, "$2a$04$old");
+        when(userRepository.findByEmail("local@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matchesAsync("secret", "$2a$04$old")).thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordHashingService.needsRehash("$2a$04$old")).thenReturn(true);
+        when(passwordHashingService.encodeAsync("secret")).thenReturn(CompletableFuture.completedFuture("$2a$12$new"));
+        when(jwtTokenProvider.generateToken(user)).thenReturn("token");
+
+        String token = authService.login(new com.assignment.sweet.dto.LoginRequest("local@example.com", "secret")).join();
+
+        assertEquals("token", token);
+        verify(userRepository).updatePasswordHash(7L, "$2a$04$old", "$2a$12$new");
+    }
+
+    @Test
+    void login_ShouldNotRehash_WhenCostIsCurrent() {
+        User user = new User(7L, null, "local@example.com", AuthType.LOCAL, "USER", null, null, "$2a$10$cur");
+        when(userRepository.findByEmail("local@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matchesAsync("secret", "$2a$10$cur")).thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordHashingService.needsRehash("$2a$10$cur")).thenReturn(false);
+        when(jwtTokenProvider.generateToken(user)).thenReturn("token");
+
+        authService.login(new com.assignment.sweet.dto.LoginRequest("local@example.com", "secret")).join();
+
+        verify(passwordHashingService, never()).encodeAsync(any());
+        verify(userRepository, never()).updatePasswordHash(any(), any(), any());
+    }
 }
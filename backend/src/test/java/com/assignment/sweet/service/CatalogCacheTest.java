@@ -0,0 +1,97 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.model.Sweet;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCacheTest {
+
+    private static Sweet sweet(long id, int quantity) {
+        return new Sweet(id, "Sweet " + id, "Candy", BigDecimal.ONE, quantity, null, null);
+    }
+
+    @Test
+    void getAll_ShouldMissUntilLoaded() {
+        CatalogCache cache = new CatalogCache(10, 1_000_000, Duration.ofMinutes(1));
+
+        assertNull(cache.getAll());
+        cache.loadAll(List.of(sweet(2, 5), sweet(1, 5)), cache.currentGeneration());
+
+        List<Sweet> all = cache.getAll();
+        assertEquals(List.of(1L, 2L), all.stream().map(Sweet::getId).toList());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void getAll_ShouldReturnSnapshotsIsolatedFromCallers() {
+        CatalogCache cache = new CatalogCache(10, 1_000_000, Duration.ofMinutes(1));
+        Sweet original = sweet(1, 5);
+        cache.loadAll(List.of(original), cache.currentGeneration());
+
+        original.setQuantity(0);
+        cache.getAll().get(0).setQuantity(0);
+
+        assertEquals(5, cache.getAll().get(0).getQuantity());
+    }
+
+    @Test
+    void loadAll_ShouldNotCacheWhenCatalogExceedsBudget() {
+        CatalogCache cache = new CatalogCache(2, 1_000_000, Duration.ofMinutes(1));
+
+        cache.loadAll(List.of(sweet(1, 1), sweet(2, 1), sweet(3, 1)), cache.currentGeneration());
+
+        assertNull(cache.getAll());
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(2, cache.stats().entries());
+    }
+
+    @Test
+    void loadAll_ShouldBeDiscardedWhenWriteRacedWithLoad() {
+        CatalogCache cache = new CatalogCache(10, 1_000_000, Duration.ofMinutes(1));
+        long generation = cache.currentGeneration();
+
+        cache.applyQuantityDelta(1L, -1, cache.currentGeneration());
+        cache.loadAll(List.of(sweet(1, 5)), generation);
+
+        assertNull(cache.getAll());
+    }
+
+    @Test
+    void applyQuantityDelta_ShouldUpdateCachedQuantity() {
+        CatalogCache cache = new CatalogCache(10, 1_000_000, Duration.ofMinutes(1));
+        cache.loadAll(List.of(sweet(1, 5)), cache.currentGeneration());
+
+        cache.applyQuantityDelta(1L, -2, cache.currentGeneration());
+
+        assertEquals(3, cache.getAll().get(0).getQuantity());
+    }
+
+    @Test
+    void applyQuantityDelta_ShouldNotDoubleCount_WhenReloadAlreadySawTheWrite() {
+        CatalogCache cache = new CatalogCache(10, 1_000_000, Duration.ofMinutes(1));
+        cache.loadAll(List.of(sweet(1, 5)), cache.currentGeneration());
+        // A purchase of 2 reads the generation in its transaction...
+        long writeGeneration = cache.currentGeneration();
+        // ...and a reload after its commit, but before its afterCommit, sees 3
+        cache.loadAll(List.of(sweet(1, 3)), cache.currentGeneration());
+
+        cache.applyQuantityDelta(1L, -2, writeGeneration);
+
+        assertNull(cache.getAll());
+        assertEquals(0, cache.stats().entries());
+    }
+
+    @Test
+    void getAll_ShouldExpireAfterTtl() {
+        CatalogCache cache = new CatalogCache(10, 1_000_000, Duration.ZERO);
+        cache.loadAll(List.of(sweet(1, 5)), cache.currentGeneration());
+
+        assertNull(cache.getAll());
+    }
+}
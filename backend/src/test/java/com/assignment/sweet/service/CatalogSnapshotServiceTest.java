@@ -0,0 +1,78 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.model.Sweet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private SweetService sweetService;
+
+    private CatalogCache catalogCache;
+    private CatalogSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        catalogCache = new CatalogCache(100, 1_000_000, Duration.ofMinutes(1));
+        snapshotService = new CatalogSnapshotService(sweetService, catalogCache, new ObjectMapper());
+        catalogCache.loadAll(List.of(new Sweet(1L, "Ladoo", "Traditional", BigDecimal.TEN, 5, null, null)),
+                catalogCache.currentGeneration());
+    }
+
+    @Test
+    void getSnapshot_ShouldReuseEncodedBytesUntilCatalogChanges() {
+        CatalogSnapshotService.Snapshot first = snapshotService.getSnapshot();
+        CatalogSnapshotService.Snapshot second = snapshotService.getSnapshot();
+
+        assertSame(first, second);
+        assertTrue(new String(first.json()).contains("\"name\":\"Ladoo\""));
+        verifyNoInteractions(sweetService);
+    }
+
+    @Test
+    void getSnapshot_ShouldRebuildWithNewETag_WhenSweetChanges() {
+        CatalogSnapshotService.Snapshot before = snapshotService.getSnapshot();
+
+        catalogCache.applyQuantityDelta(1L, -1, catalogCache.currentGeneration());
+        CatalogSnapshotService.Snapshot after = snapshotService.getSnapshot();
+
+        assertNotSame(before, after);
+        assertNotEquals(before.etag(), after.etag());
+        assertTrue(new String(after.json()).contains("\"quantity\":4"));
+    }
+
+    @Test
+    void getSnapshot_ShouldKeepETag_WhenContentIsUnchanged() {
+        CatalogSnapshotService.Snapshot before = snapshotService.getSnapshot();
+
+        catalogCache.applyQuantityDelta(1L, -1, catalogCache.currentGeneration());
+        catalogCache.applyQuantityDelta(1L, 1, catalogCache.currentGeneration());
+
+        assertEquals(before.etag(), snapshotService.getSnapshot().etag());
+    }
+
+    @Test
+    void matches_ShouldHonourListsWeakTagsAndWildcard() {
+        CatalogSnapshotService.Snapshot snapshot = new CatalogSnapshotService.Snapshot(1L, new byte[0], null,
+                "\"abc\"");
+
+        assertTrue(snapshot.matches("\"x\", \"abc\""));
+        assertTrue(snapshot.matches("W/\"abc\""));
+        assertTrue(snapshot.matches("*"));
+        assertFalse(snapshot.matches("\"abcd\""));
+        assertFalse(snapshot.matches(null));
+    }
+}
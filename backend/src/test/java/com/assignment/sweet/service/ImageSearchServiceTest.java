@@ -0,0 +1,225 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.http.OutboundHttpClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageSearchServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private HttpServer server;
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private volatile int remaining = 50;
+    private volatile int status = 200;
+    private volatile CountDownLatch release;
+    private MutableClock clock;
+    private ImageSearchService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Local stand-in for GET https://api.unsplash.com/search/photos
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/search/photos", this::handle);
+        server.start();
+
+        clock = new MutableClock(NOW);
+        service = newService(Duration.ofMinutes(10));
+    }
+
+    private ImageSearchService newService(Duration ttl) {
+        OutboundHttpClient http = new OutboundHttpClient(Duration.ofSeconds(2), Duration.ofSeconds(10), 16, 5,
+                Duration.ofSeconds(30));
+        return new ImageSearchService(http, new ObjectMapper(), "http://127.0.0.1:" + server.getAddress().getPort(),
+                "test-key", ttl, 3, 5, Duration.ofMinutes(5), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        String query = rawQuery.substring("query=".length(), rawQuery.indexOf('&'));
+        queries.add(query);
+        if (!"Client-ID test-key".equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            exchange.sendResponseHeaders(401, -1);
+            exchange.close();
+            return;
+        }
+        if (release != null) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.getResponseHeaders().add(ImageSearchService.LIMIT_HEADER, "50");
+        exchange.getResponseHeaders().add(ImageSearchService.REMAINING_HEADER, String.valueOf(remaining));
+        if (status == 429) {
+            exchange.getResponseHeaders().add("Retry-After", "60");
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = ("{\"results\":[{\"urls\":{\"regular\":\"https://images.example/" + query + ".jpg\"}}]}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    @Test
+    void searchImages_ShouldCacheByNormalizedQuery() {
+        List<String> first = service.searchImages("  Gulab   Jamun ");
+        List<String> second = service.searchImages("gulab jamun");
+
+        // Encoded exactly once on the wire
+        assertEquals(List.of("https://images.example/gulab%20jamun.jpg"), first);
+        assertEquals(first, second);
+        assertEquals(1, queries.size());
+        assertEquals(1, service.stats().hits());
+        assertEquals(50, service.stats().rateLimitLimit());
+    }
+
+    @Test
+    void searchImages_ShouldRefetchAfterTtl() {
+        service.searchImages("ladoo");
+        clock.advance(Duration.ofMinutes(11));
+        service.searchImages("ladoo");
+
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void searchImages_ShouldStayWithinMaxEntries() {
+        for (String q : new String[] { "a", "b", "c", "d", "e" }) {
+            service.searchImages(q);
+        }
+
+        assertTrue(service.stats().size() <= 3);
+    }
+
+    @Test
+    void searchImages_ShouldCoalesceConcurrentIdenticalQueries() throws Exception {
+        release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> service.searchImages("barfi"), callers));
+            }
+            // Hold the upstream response until the other three callers have joined the first call
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (service.stats().coalesced() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (CompletableFuture<List<String>> result : results) {
+                assertEquals(List.of("https://images.example/barfi.jpg"), result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, queries.size());
+            assertEquals(3, service.stats().coalesced());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void searchImages_ShouldServeFromCacheOnly_WhenQuotaNearlyExhausted() {
+        service = newService(Duration.ofMinutes(1));
+        remaining = 5;
+        service.searchImages("jalebi");
+
+        // At the reserve: new queries are not sent upstream
+        assertEquals(List.of(), service.searchImages("halwa"));
+        assertEquals(1, queries.size());
+        assertEquals(5, service.stats().rateLimitRemaining());
+        assertEquals(1, service.stats().throttled());
+
+        // Expired entries are still served while backing off
+        clock.advance(Duration.ofMinutes(4).plusSeconds(30));
+        assertEquals(List.of("https://images.example/jalebi.jpg"), service.searchImages("jalebi"));
+
+        // Once the backoff elapses, upstream is probed again
+        remaining = 40;
+        clock.advance(Duration.ofSeconds(31));
+        assertEquals(List.of("https://images.example/halwa.jpg"), service.searchImages("halwa"));
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void searchImages_ShouldHonourRetryAfter_OnTooManyRequests() {
+        status = 429;
+        assertEquals(List.of(), service.searchImages("kaju katli"));
+        status = 200;
+
+        assertEquals(List.of(), service.searchImages("kaju katli"));
+        assertEquals(1, queries.size());
+        assertEquals(60, service.stats().backoffSeconds());
+
+        clock.advance(Duration.ofSeconds(61));
+        assertEquals(1, service.searchImages("kaju katli").size());
+    }
+
+    @Test
+    void searchImages_ShouldReturnEmpty_ForBlankQuery() {
+        assertTrue(service.searchImages("   ").isEmpty());
+        assertTrue(service.searchImages(null).isEmpty());
+        assertTrue(queries.isEmpty());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.storage.BlobStorage;
+import com.assignment.sweet.storage.FileSystemBlobStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageServiceTest {
+
+    @TempDir
+    Path uploads;
+
+    private ExecutorService executor;
+    private ImageService imageService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        imageService = new ImageService(new FileSystemBlobStorage(uploads, "http://localhost:8080/uploads/"), executor,
+                0.8f, 10_000_000, 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private void writeImage(String name, int width, int height, int type, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.PINK);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        ImageIO.write(image, format, uploads.resolve(name).toFile());
+    }
+
+    private BufferedImage read(String name) throws IOException {
+        return ImageIO.read(uploads.resolve(name).toFile());
+    }
+
+    @Test
+    void createVariants_ShouldFitEachSizeAndKeepAspectRatio() throws Exception {
+        writeImage("photo.png", 2400, 1200, BufferedImage.TYPE_INT_RGB, "png");
+
+        ImageService.ImageVariants variants = imageService.createVariantsAsync("photo.png").get();
+
+        assertEquals("photo-thumb.jpg", variants.thumbnail());
+        assertEquals(ImageService.THUMBNAIL_SIZE, read(variants.thumbnail()).getWidth());
+        assertEquals(ImageService.THUMBNAIL_SIZE / 2, read(variants.thumbnail()).getHeight());
+        assertEquals(ImageService.CARD_SIZE, read(variants.card()).getWidth());
+        assertEquals(ImageService.DETAIL_SIZE, read(variants.detail()).getWidth());
+        assertTrue(Files.size(uploads.resolve(variants.card())) < Files.size(uploads.resolve("photo.png")));
+    }
+
+    @Test
+    void createVariants_ShouldNotUpscaleSmallImages() throws Exception {
+        writeImage("small.jpg", 100, 80, BufferedImage.TYPE_INT_RGB, "jpg");
+
+        ImageService.ImageVariants variants = imageService.createVariants("small.jpg");
+
+        assertEquals(100, read(variants.detail()).getWidth());
+        assertEquals(100, read(variants.thumbnail()).getWidth());
+    }
+
+    @Test
+    void createVariants_ShouldKeepTransparencyAsPng() throws Exception {
+        writeImage("logo.png", 600, 600, BufferedImage.TYPE_INT_ARGB, "png");
+
+        ImageService.ImageVariants variants = imageService.createVariants("logo.png");
+
+        assertEquals("logo-card.png", variants.card());
+        assertTrue(read(variants.card()).getColorModel().hasAlpha());
+    }
+
+    @Test
+    void createVariants_ShouldRejectNonImagesAndOversizedImages() throws Exception {
+        Files.writeString(uploads.resolve("notes.txt"), "not an image");
+        writeImage("huge.png", 4000, 3000, BufferedImage.TYPE_INT_RGB, "png");
+
+        assertThrows(IOException.class, () -> imageService.createVariants("notes.txt"));
+        assertThrows(IOException.class, () -> imageService.createVariants("huge.png"));
+        assertThrows(IOException.class, () -> imageService.createVariants("../escape.png"));
+    }
+
+    private long storedFileCount() throws IOException {
+        try (Stream<Path> files = Files.list(uploads)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void storeFile_ShouldNameByContentHashAndDeduplicate() throws Exception {
+        byte[] content = "same bytes".getBytes();
+
+        String first = imageService.storeFile(new MockMultipartFile("image", "a.JPG", "image/jpeg", content));
+        String second = imageService.storeFile(new MockMultipartFile("image", "b.jpg", "image/jpeg", content));
+
+        // sha256("same bytes") in hex, with the extension lower-cased
+        assertTrue(first.matches("[0-9a-f]{64}\\.jpg"), first);
+        assertEquals(first, second);
+        assertEquals(1, storedFileCount());
+        assertArrayEquals(content, Files.readAllBytes(uploads.resolve(first)));
+    }
+
+    @Test
+    void storeFile_ShouldSetContentTypeFromExtension_NotFromClient() throws Exception {
+        BlobStorage storage = mock(BlobStorage.class);
+        when(storage.newStagingFile()).thenReturn(Files.createTempFile(uploads, ".put-", ".tmp"));
+        ImageService service = new ImageService(storage, executor, 0.8f, 10_000_000, 1024);
+
+        String name = service.storeFile(new MockMultipartFile("image", "a.png", "text/html", new byte[] { 1 }));
+
+        verify(storage).putMove(eq(name), any(Path.class), eq("image/png"));
+    }
+
+    @Test
+    void storeFile_ShouldRejectExtensionsOutsideTheImageAllowlist() throws Exception {
+        for (String name : new String[] { "evil.j/../sp", "page.html", "icon.svg", "app.js", "doc.xhtml", "noext" }) {
+            assertThrows(RuntimeException.class,
+                    () -> imageService.storeFile(new MockMultipartFile("image", name, "image/jpeg", new byte[] { 1 })),
+                    name);
+        }
+        assertEquals(0, storedFileCount());
+    }
+
+    @Test
+    void storeFile_ShouldRejectOversizedUploads_EvenWhenDeclaredSizeLies() throws Exception {
+        assertThrows(com.assignment.sweet.exception.FileTooLargeException.class,
+                () -> imageService.storeFile(new MockMultipartFile("image", "big.jpg", "image/jpeg", new byte[2048])));
+
+        org.springframework.web.multipart.MultipartFile lying = mock(
+                org.springframework.web.multipart.MultipartFile.class);
+        when(lying.getSize()).thenReturn(10L);
+        when(lying.getOriginalFilename()).thenReturn("big.jpg");
+        InputStream stream = new ByteArrayInputStream(new byte[4096]);
+        when(lying.getInputStream()).thenReturn(stream);
+
+        assertThrows(com.assignment.sweet.exception.FileTooLargeException.class, () -> imageService.storeFile(lying));
+        assertEquals(0, storedFileCount(), "No partial or temporary file may be left behind");
+    }
+}
@@ -0,0 +1,127 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private ThreadPoolExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private PasswordHashingService service(PasswordEncoder encoder, int queueCapacity) {
+        return service(encoder, queueCapacity, Duration.ofSeconds(5));
+    }
+
+    private PasswordHashingService service(PasswordEncoder encoder, int queueCapacity, Duration timeout) {
+        executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity));
+        return new PasswordHashingService(encoder, executor, timeout);
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRoundTripOnPool() {
+        PasswordHashingService hashing = service(new BCryptPasswordEncoder(4), 4);
+
+        String hash = hashing.encode("secret");
+
+        assertTrue(hashing.matches("secret", hash));
+        assertFalse(hashing.matches("wrong", hash));
+        PasswordHashingService.Stats stats = hashing.stats();
+        assertEquals(3, stats.completed());
+        assertEquals(0, stats.rejected());
+        assertTrue(stats.maxHashMillis() >= stats.avgHashMillis());
+    }
+
+    @Test
+    void needsRehash_ShouldBeTrue_WhenStoredCostIsLowerThanConfigured() {
+        String weak = new BCryptPasswordEncoder(4).encode("secret");
+        PasswordHashingService hashing = service(new BCryptPasswordEncoder(6), 4);
+
+        assertTrue(hashing.needsRehash(weak));
+        assertFalse(hashing.needsRehash(hashing.encode("secret")));
+    }
+
+    @Test
+    void matches_ShouldRejectFast_WhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        PasswordHashingService hashing = service(blocking, 1);
+
+        Thread first = new Thread(() -> hashing.matches("a", "x"));
+        first.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread queued = new Thread(() -> hashing.matches("b", "x"));
+        queued.start();
+        while (executor.getQueue().isEmpty()) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> hashing.matches("c", "x"));
+        assertEquals(1, hashing.stats().queueDepth());
+        assertEquals(1, hashing.stats().rejected());
+
+        release.countDown();
+        first.join();
+        queued.join();
+    }
+
+    @Test
+    void matchesAsync_ShouldFailWithTooManyRequests_WhenHashOutlivesTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        PasswordHashingService hashing = service(blocking, 4, Duration.ofMillis(50));
+
+        CompletableFuture<Boolean> running = hashing.matchesAsync("a", "x");
+        CompletableFuture<Boolean> queued = hashing.matchesAsync("b", "x");
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TooManyRequestsException.class, failure.getCause());
+        assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, hashing.stats().rejected());
+
+        release.countDown();
+        // The queued hash was abandoned before it started, so only the running one is recorded
+        while (executor.getCompletedTaskCount() < 2) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, hashing.stats().completed());
+    }
+}
@@ -0,0 +1,225 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.dto.ReservationResponse;
+import com.assignment.sweet.exception.ReservationNotHeldException;
+import com.assignment.sweet.model.Purchase;
+import com.assignment.sweet.model.Reservation;
+import com.assignment.sweet.model.Sweet;
+import com.assignment.sweet.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+    private static final String ALICE = "alice@example.com";
+    private static final String BOB = "bob@example.com";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private SweetService sweetService;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private ReservationService reservations;
+
+    @BeforeEach
+    void setUp() {
+        reservations = new ReservationService(sweetService, reservationRepository, Duration.ofMinutes(10), clock);
+    }
+
+    // A hold of 3 units of sweet 1 for Alice, expiring 10 minutes from NOW
+    private Reservation held(long id) {
+        Reservation hold = new Reservation(id, 1L, 3, ALICE, NOW.plus(Duration.ofMinutes(10)));
+        lenient().when(reservationRepository.findById(id)).thenReturn(Optional.of(hold));
+        return hold;
+    }
+
+    @Test
+    void reserve_ShouldMoveStockAndRecordHold_UntilTtl() {
+        when(sweetService.reserveStock(1L, 3))
+                .thenReturn(new Sweet(1L, "Ladoo", "Traditional", BigDecimal.TEN, 5, null, null));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(inv -> {
+            Reservation r = inv.getArgument(0);
+            r.setId(42L);
+            return r;
+        });
+
+        ReservationResponse hold = reservations.reserve(1L, 3, ALICE);
+
+        assertEquals(42L, hold.getId());
+        assertEquals("Ladoo", hold.getSweetName());
+        assertEquals(NOW.plus(Duration.ofMinutes(10)), hold.getExpiresAt());
+        ArgumentCaptor<Reservation> saved = ArgumentCaptor.forClass(Reservation.class);
+        verify(reservationRepository).save(saved.capture());
+        assertEquals(ALICE, saved.getValue().getCustomerEmail());
+        assertEquals(3, saved.getValue().getQuantity());
+    }
+
+    @Test
+    void reserve_ShouldNotRecordHold_WhenStockIsInsufficient() {
+        when(sweetService.reserveStock(1L, 3)).thenThrow(new RuntimeException("Insufficient stock"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> reservations.reserve(1L, 3, ALICE));
+
+        assertEquals("Insufficient stock", ex.getMessage());
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void reserve_ShouldRejectNonPositiveQuantity() {
+        assertThrows(RuntimeException.class, () -> reservations.reserve(1L, 0, ALICE));
+        verifyNoInteractions(sweetService, reservationRepository);
+    }
+
+    @Test
+    void confirm_ShouldClaimHold_AndPurchaseReservedUnits() {
+        held(7L);
+        Purchase purchase = new Purchase();
+        when(reservationRepository.claim(7L)).thenReturn(1);
+        when(sweetService.purchaseReservedStock(1L, 3, ALICE)).thenReturn(purchase);
+
+        assertSame(purchase, reservations.confirm(7L, ALICE));
+
+        verify(sweetService, never()).releaseReservedStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void confirm_ShouldFail_WhenAnotherReplicaSettledTheHoldFirst() {
+        held(7L);
+        when(reservationRepository.claim(7L)).thenReturn(0);
+
+        assertEquals("Reservation not found",
+                assertThrows(RuntimeException.class, () -> reservations.confirm(7L, ALICE)).getMessage());
+
+        verify(sweetService, never()).purchaseReservedStock(anyLong(), anyInt(), any());
+        verify(sweetService, never()).releaseReservedStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void confirm_ShouldNotRelease_WhenUnitsAreNoLongerReserved() {
+        held(7L);
+        when(reservationRepository.claim(7L)).thenReturn(1);
+        when(sweetService.purchaseReservedStock(1L, 3, ALICE)).thenThrow(new ReservationNotHeldException());
+
+        assertEquals("Reservation no longer held",
+                assertThrows(RuntimeException.class, () -> reservations.confirm(7L, ALICE)).getMessage());
+
+        verify(sweetService, never()).releaseReservedStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void confirm_ShouldRejectOtherUsersHold() {
+        held(7L);
+
+        assertEquals("Reservation not found",
+                assertThrows(RuntimeException.class, () -> reservations.confirm(7L, BOB)).getMessage());
+
+        verify(reservationRepository, never()).claim(anyLong());
+    }
+
+    @Test
+    void confirm_ShouldLeaveExpiredHoldForSweeper() {
+        held(7L);
+        clock.advance(Duration.ofMinutes(10));
+
+        assertEquals("Reservation expired",
+                assertThrows(RuntimeException.class, () -> reservations.confirm(7L, ALICE)).getMessage());
+
+        verify(reservationRepository, never()).claim(anyLong());
+        verify(sweetService, never()).purchaseReservedStock(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void cancel_ShouldReturnUnitsToStock() {
+        held(7L);
+        when(reservationRepository.claim(7L)).thenReturn(1);
+        when(sweetService.releaseReservedStock(1L, 3)).thenReturn(true);
+
+        reservations.cancel(7L, ALICE);
+
+        verify(sweetService).releaseReservedStock(1L, 3);
+    }
+
+    @Test
+    void expire_ShouldReleaseOnlyWhenItClaimsTheHold() {
+        Reservation hold = held(7L);
+        when(reservationRepository.claim(7L)).thenReturn(1, 0);
+        when(sweetService.releaseReservedStock(1L, 3)).thenReturn(true);
+
+        assertTrue(reservations.expire(hold));
+        // A second sweeper (or replica) reaching the same hold leaves stock alone
+        assertFalse(reservations.expire(hold));
+
+        verify(sweetService, times(1)).releaseReservedStock(1L, 3);
+    }
+
+    @Test
+    void reconcile_ShouldReturnOnlyUnitsNotCoveredByHolds() {
+        // 5 units reserved, holds on any replica account for 2
+        when(sweetService.lockReservedStock(1L)).thenReturn(5);
+        when(reservationRepository.sumQuantityBySweetId(1L)).thenReturn(2L);
+        when(sweetService.releaseReservedStock(1L, 3)).thenReturn(true);
+
+        assertEquals(3, reservations.reconcile(1L));
+
+        verify(sweetService).releaseReservedStock(1L, 3);
+    }
+
+    @Test
+    void reconcile_ShouldLeaveStock_WhenHoldsCoverReservedUnits() {
+        when(sweetService.lockReservedStock(1L)).thenReturn(5);
+        when(reservationRepository.sumQuantityBySweetId(1L)).thenReturn(5L);
+
+        assertEquals(0, reservations.reconcile(1L));
+
+        verify(sweetService, never()).releaseReservedStock(anyLong(), anyInt());
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -6,14 +6,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +31,15 @@ class SweetServiceTest {
     @Mock
     private com.assignment.sweet.repository.PurchaseRepository purchaseRepository;
 
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private CatalogCache catalogCache = new CatalogCache(100, 1_000_000, Duration.ofMinutes(1));
+
     @InjectMocks
     private SweetService sweetService;
 
@@ -43,6 +58,63 @@ class SweetServiceTest {
         assertEquals("Ladoo", result.get(0).getName());
     }
 
+    @Test
+    void getAllSweets_ShouldServeRepeatReadsFromCache() {
+        // Arrange
+        Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 100, "Delicious Ladoo",
+                "http://image.url");
+        when(sweetRepository.findAll()).thenReturn(List.of(sweet));
+
+        // Act
+        sweetService.getAllSweets();
+        List<Sweet> result = sweetService.getAllSweets();
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(sweetRepository, times(1)).findAll();
+        assertEquals(1, catalogCache.stats().hits());
+        assertEquals(1, catalogCache.stats().misses());
+    }
+
+    @Test
+    void purchaseSweet_ShouldApplyDeltaToCachedCatalog() {
+        // Arrange
+        Sweet cached = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 10, "Delicious Ladoo",
+                "http://image.url");
+        when(sweetRepository.findAll()).thenReturn(List.of(cached));
+        sweetService.getAllSweets();
+
+        Sweet afterDecrement = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 7, "Delicious Ladoo",
+                "http://image.url");
+        when(sweetRepository.decrementStock(1L, 3)).thenReturn(1);
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(afterDecrement));
+
+        // Act
+        sweetService.purchaseSweet(1L, 3, "test@example.com");
+        List<Sweet> result = sweetService.getAllSweets();
+
+        // Assert
+        assertEquals(7, result.get(0).getQuantity());
+        verify(sweetRepository, times(1)).findAll();
+    }
+
+    @Test
+    void deleteSweet_ShouldRemoveSweetFromCachedCatalog() {
+        // Arrange
+        Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 10, "Delicious Ladoo",
+                "http://image.url");
+        when(sweetRepository.findAll()).thenReturn(List.of(sweet));
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(sweet));
+        sweetService.getAllSweets();
+
+        // Act
+        sweetService.deleteSweet(1L);
+
+        // Assert
+        assertTrue(sweetService.getAllSweets().isEmpty());
+        verify(sweetRepository, times(1)).findAll();
+    }
+
     @Test
     void addSweet_ShouldSaveSweet() {
         // Arrange
@@ -61,45 +133,249 @@ class SweetServiceTest {
         assertEquals("Barfi", result.getName());
     }
 
+    @Test
+    void addSweet_ShouldRecordImageVariants_WhenUploadIsProcessed() {
+        // Arrange
+        org.springframework.mock.web.MockMultipartFile image = new org.springframework.mock.web.MockMultipartFile(
+                "image", "barfi.jpg", "image/jpeg", new byte[] { 1, 2, 3 });
+        Sweet sweet = new Sweet(null, "Barfi", "Milk", BigDecimal.valueOf(15.0), 50, "Tasty Barfi", null);
+        when(imageService.storeFile(image)).thenReturn("abc.jpg");
+        when(imageService.publicUrl(any())).thenAnswer(
+                invocation -> "http://localhost:8080/uploads/" + invocation.getArgument(0));
+        when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> {
+            Sweet s = invocation.getArgument(0);
+            s.setId(1L);
+            return s;
+        });
+        when(imageService.createVariantsAsync("abc.jpg")).thenReturn(CompletableFuture.completedFuture(
+                new ImageService.ImageVariants("abc-thumb.jpg", "abc-card.jpg", "abc-detail.jpg")));
+        String original = "http://localhost:8080/uploads/abc.jpg";
+        when(sweetRepository.updateImageVariants(1L, original, "http://localhost:8080/uploads/abc-thumb.jpg",
+                "http://localhost:8080/uploads/abc-card.jpg", "http://localhost:8080/uploads/abc-detail.jpg"))
+                .thenReturn(1);
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(sweet));
+
+        // Act
+        Sweet result = sweetService.addSweet(sweet, image);
+
+        // Assert
+        assertEquals(original, result.getImageUrl());
+        verify(sweetRepository).updateImageVariants(eq(1L), eq(original), any(), any(), any());
+    }
+
     @Test
     void purchaseSweet_ShouldDecreaseQuantity_WhenStockIsAvailable() {
         // Arrange
-        Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 10, "Delicious Ladoo",
+        Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 9, "Delicious Ladoo",
                 "http://image.url");
+        when(sweetRepository.decrementStock(1L, 1)).thenReturn(1);
         when(sweetRepository.findById(1L)).thenReturn(Optional.of(sweet));
-        when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         Sweet result = sweetService.purchaseSweet(1L, 1, "test@example.com");
 
         // Assert
         assertEquals(9, result.getQuantity());
+        verify(sweetRepository, never()).save(any(Sweet.class));
         verify(purchaseRepository, times(1)).save(any(com.assignment.sweet.model.Purchase.class));
     }
 
+    @Test
+    void purchaseReservedStock_ShouldReportLostReservation_WhenUnitsAreNoLongerReserved() {
+        when(sweetRepository.consumeReservedStock(1L, 3)).thenReturn(0);
+        when(sweetRepository.existsById(1L)).thenReturn(true);
+
+        RuntimeException exception = assertThrows(com.assignment.sweet.exception.ReservationNotHeldException.class,
+                () -> sweetService.purchaseReservedStock(1L, 3, "test@example.com"));
+
+        assertEquals("Reservation no longer held", exception.getMessage());
+        verify(purchaseRepository, never()).save(any());
+    }
+
+    @Test
+    void purchaseReservedStock_ShouldReportMissingSweet_WhenSweetIsGone() {
+        when(sweetRepository.consumeReservedStock(1L, 3)).thenReturn(0);
+        when(sweetRepository.existsById(1L)).thenReturn(false);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> sweetService.purchaseReservedStock(1L, 3, "test@example.com"));
+
+        assertEquals("Sweet not found", exception.getMessage());
+    }
+
     @Test
     void purchaseSweet_ShouldThrowException_WhenStockIsInsufficient() {
         // Arrange
-        Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 0, "Delicious Ladoo",
-                "http://image.url");
-        when(sweetRepository.findById(1L)).thenReturn(Optional.of(sweet));
+        when(sweetRepository.decrementStock(1L, 1)).thenReturn(0);
+        when(sweetRepository.existsById(1L)).thenReturn(true);
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> sweetService.purchaseSweet(1L, 1, "test@example.com"));
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> sweetService.purchaseSweet(1L, 1, "test@example.com"));
+        assertEquals("Insufficient stock", ex.getMessage());
+        verify(purchaseRepository, never()).save(any());
     }
 
     @Test
-    void restockSweet_ShouldIncreaseQuantity() {
+    void purchaseSweet_ShouldThrowException_WhenSweetDoesNotExist() {
+        // Arrange
+        when(sweetRepository.decrementStock(99L, 1)).thenReturn(0);
+        when(sweetRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> sweetService.purchaseSweet(99L, 1, "test@example.com"));
+        assertEquals("Sweet not found", ex.getMessage());
+    }
+
+    @Test
+    void purchaseSweet_ShouldRejectNonPositiveQuantity() {
+        assertThrows(RuntimeException.class, () -> sweetService.purchaseSweet(1L, 0, "test@example.com"));
+        verifyNoInteractions(sweetRepository, purchaseRepository);
+    }
+
+    @Test
+    void checkout_ShouldClaimStockInIdOrder_AndInsertPurchasesInOneBatch() {
+        Sweet ladoo = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 5, "Ladoo", null);
+        Sweet barfi = new Sweet(2L, "Barfi", "Traditional", BigDecimal.valueOf(4.0), 0, "Barfi", null);
+        when(sweetRepository.decrementStock(1L, 3)).thenReturn(1);
+        when(sweetRepository.decrementStock(2L, 1)).thenReturn(0);
+        when(sweetRepository.decrementStock(7L, 1)).thenReturn(0);
+        when(sweetRepository.findAllById(any())).thenReturn(List.of(ladoo, barfi));
+
+        com.assignment.sweet.dto.CheckoutResponse result = sweetService.checkout(List.of(
+                new com.assignment.sweet.dto.CheckoutItem(7L, 1),
+                new com.assignment.sweet.dto.CheckoutItem(2L, 1),
+                new com.assignment.sweet.dto.CheckoutItem(1L, 2),
+                new com.assignment.sweet.dto.CheckoutItem(1L, 1),
+                new com.assignment.sweet.dto.CheckoutItem(1L, 0)), "test@example.com");
+
+        // One conditional decrement per distinct sweet, lowest id first
+        org.mockito.InOrder order = inOrder(sweetRepository);
+        order.verify(sweetRepository).decrementStock(1L, 3);
+        order.verify(sweetRepository).decrementStock(2L, 1);
+        order.verify(sweetRepository).decrementStock(7L, 1);
+
+        assertEquals(List.of("Sweet not found", "Insufficient stock"),
+                result.getLines().subList(0, 2).stream().map(l -> l.getError()).toList());
+        assertTrue(result.getLines().get(2).isPurchased());
+        assertTrue(result.getLines().get(3).isPurchased());
+        assertEquals("Quantity must be positive", result.getLines().get(4).getError());
+        assertEquals(2, result.getPurchasedLines());
+        assertEquals(0, BigDecimal.valueOf(30.0).compareTo(result.getTotalPrice()));
+
+        verify(purchaseRepository, times(1)).saveAll(argThat((List<com.assignment.sweet.model.Purchase> p) -> p.size() == 2));
+        verify(purchaseRepository, never()).save(any());
+    }
+
+    @Test
+    void checkout_ShouldRejectEmptyCart() {
+        assertThrows(RuntimeException.class, () -> sweetService.checkout(List.of(), "test@example.com"));
+        verifyNoInteractions(sweetRepository, purchaseRepository);
+    }
+
+    @Test
+    void restockSweet_ShouldIncrementStockAtomically() {
+        // Arrange
+        Sweet restocked = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 15, "Delicious Ladoo",
+                "http://image.url");
+        when(sweetRepository.incrementStock(1L, 5)).thenReturn(1);
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(restocked));
+
+        // Act
+        Sweet result = sweetService.restockSweet(1L, 5);
+
+        // Assert
+        assertEquals(15, result.getQuantity());
+        verify(sweetRepository, never()).save(any());
+    }
+
+    @Test
+    void updateSweet_ShouldOnlyChangeProvidedFields_AndNeverTouchStock() {
         // Arrange
         Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 10, "Delicious Ladoo",
                 "http://image.url");
+        sweet.setVersion(4L);
         when(sweetRepository.findById(1L)).thenReturn(Optional.of(sweet));
         when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Sweet changes = new Sweet(null, null, null, BigDecimal.valueOf(12.0), 999, null, null);
+        changes.setVersion(4L);
 
         // Act
-        Sweet result = sweetService.restockSweet(1L, 5);
+        Sweet result = sweetService.updateSweet(1L, changes, null);
 
         // Assert
-        assertEquals(15, result.getQuantity());
+        assertEquals(BigDecimal.valueOf(12.0), result.getPrice());
+        assertEquals("Ladoo", result.getName());
+        assertEquals("Delicious Ladoo", result.getDescription());
+        assertEquals("http://image.url", result.getImageUrl());
+        assertEquals(10, result.getQuantity());
+    }
+
+    @Test
+    void updateSweet_ShouldThrowConflictWithCurrentState_WhenVersionIsStale() {
+        // Arrange
+        Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 10, "Delicious Ladoo", null);
+        sweet.setVersion(5L);
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(sweet));
+        Sweet changes = new Sweet(null, "Motichoor Ladoo", null, null, null, null, null);
+        changes.setVersion(4L);
+
+        // Act & Assert
+        com.assignment.sweet.exception.SweetConflictException conflict = assertThrows(
+                com.assignment.sweet.exception.SweetConflictException.class,
+                () -> sweetService.updateSweet(1L, changes, null));
+        assertEquals(5L, conflict.getCurrent().getVersion());
+        assertEquals("Ladoo", conflict.getCurrent().getName());
+        verify(sweetRepository, never()).save(any());
+    }
+
+    @Test
+    void updateSweet_ShouldThrowConflict_WhenAnotherEditCommitsFirst() {
+        // Arrange
+        Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 10, "Delicious Ladoo", null);
+        sweet.setVersion(5L);
+        Sweet current = new Sweet(1L, "Besan Ladoo", "Traditional", BigDecimal.valueOf(10.0), 10, "Delicious Ladoo",
+                null);
+        current.setVersion(6L);
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(sweet), Optional.of(current));
+        when(sweetRepository.save(any(Sweet.class)))
+                .thenThrow(new org.springframework.orm.ObjectOptimisticLockingFailureException(Sweet.class, 1L));
+        Sweet changes = new Sweet(null, "Motichoor Ladoo", null, null, null, null, null);
+        changes.setVersion(5L);
+
+        // Act & Assert
+        com.assignment.sweet.exception.SweetConflictException conflict = assertThrows(
+                com.assignment.sweet.exception.SweetConflictException.class,
+                () -> sweetService.updateSweet(1L, changes, null));
+        assertEquals("Besan Ladoo", conflict.getCurrent().getName());
+        verify(sweetRepository, times(1)).save(any());
+    }
+
+    @Test
+    void updateSweet_WithoutVersion_ShouldReapplyChanges_WhenAnotherEditCommitsFirst() {
+        // Arrange
+        Sweet sweet = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 10, "Delicious Ladoo", null);
+        sweet.setVersion(5L);
+        Sweet current = new Sweet(1L, "Ladoo", "Traditional", BigDecimal.valueOf(10.0), 10, "Edited elsewhere",
+                null);
+        current.setVersion(6L);
+        when(sweetRepository.findById(1L)).thenReturn(Optional.of(sweet), Optional.of(current));
+        when(sweetRepository.save(any(Sweet.class)))
+                .thenThrow(new org.springframework.orm.ObjectOptimisticLockingFailureException(Sweet.class, 1L))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Sweet result = sweetService.updateSweet(1L,
+                new Sweet(null, "Motichoor Ladoo", null, null, null, null, null), null);
+
+        // Assert
+        assertEquals("Motichoor Ladoo", result.getName());
+        assertEquals("Edited elsewhere", result.getDescription());
+        assertEquals(6L, result.getVersion());
+        // Each attempt in its own transaction: the failed one rolled back, the retry committed
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
     }
 }
@@ -0,0 +1,104 @@
+package com.assignment.sweet.service;
+
+import com.assignment.sweet.model.AuthType;
+import com.assignment.sweet.model.User;
+import com.assignment.sweet.repository.UserRepository;
+import com.assignment.sweet.security.ClerkPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSyncServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ExecutorService executor;
+    private UserSyncService userSyncService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        userSyncService = new UserSyncService(userRepository, executor, 100);
+    }
+
+    private static ClerkPrincipal principal(String role) {
+        return new ClerkPrincipal("clerk_1", "a@example.com", "Ann", "Lee", role, Instant.now().plusSeconds(60));
+    }
+
+    private void drain() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void requestSync_ShouldCreateClerkUser_WhenUnknown() throws Exception {
+        when(userRepository.findByClerkId("clerk_1")).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("a@example.com")).thenReturn(Optional.empty());
+
+        userSyncService.requestSync(principal("USER"));
+        drain();
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        assertEquals("clerk_1", saved.getValue().getClerkId());
+        assertEquals(AuthType.CLERK, saved.getValue().getAuthType());
+    }
+
+    @Test
+    void requestSync_ShouldSkipDatabase_WhenClaimsAreUnchanged() throws Exception {
+        User existing = new User(1L, "clerk_1", "a@example.com", AuthType.CLERK, "USER", "Ann", "Lee", null);
+        when(userRepository.findByClerkId("clerk_1")).thenReturn(Optional.of(existing));
+
+        userSyncService.requestSync(principal("USER"));
+        Thread.sleep(100);
+        for (int i = 0; i < 50; i++) {
+            userSyncService.requestSync(principal("USER"));
+        }
+        drain();
+
+        verify(userRepository, times(1)).findByClerkId("clerk_1");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void requestSync_ShouldResync_WhenRoleClaimChanges() throws Exception {
+        User existing = new User(1L, "clerk_1", "a@example.com", AuthType.CLERK, "USER", "Ann", "Lee", null);
+        when(userRepository.findByClerkId("clerk_1")).thenReturn(Optional.of(existing));
+
+        userSyncService.requestSync(principal("USER"));
+        Thread.sleep(100);
+        userSyncService.requestSync(principal("ADMIN"));
+        drain();
+
+        verify(userRepository, times(2)).findByClerkId("clerk_1");
+        verify(userRepository).save(existing);
+        assertEquals("ADMIN", existing.getRole());
+    }
+
+    @Test
+    void sync_ShouldNotAttachClerkIdToLocalUser() {
+        User local = new User(2L, null, "a@example.com", AuthType.LOCAL, "USER", "Ann", "Lee", "hash");
+        when(userRepository.findByClerkId("clerk_1")).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("a@example.com")).thenReturn(Optional.of(local));
+
+        userSyncService.sync(principal("USER"));
+
+        assertNull(local.getClerkId());
+        verify(userRepository, never()).save(any());
+    }
+}
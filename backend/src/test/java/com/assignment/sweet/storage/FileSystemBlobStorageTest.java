@@ -0,0 +1,81 @@
+package com.assignment.sweet.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSystemBlobStorageTest {
+
+    @TempDir
+    Path tmp;
+
+    private FileSystemBlobStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FileSystemBlobStorage(tmp.resolve("uploads"), "http://localhost:8080/uploads/");
+    }
+
+    @Test
+    void put_ShouldCopyAndLeaveSourceInPlace() throws Exception {
+        byte[] content = "image bytes".getBytes();
+        Path source = Files.write(tmp.resolve("source"), content);
+
+        storage.put("abc.jpg", source, "image/jpeg");
+
+        assertTrue(Files.exists(source));
+        try (InputStream in = storage.open("abc.jpg")) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void putMove_ShouldRenameSourceIntoPlace() throws Exception {
+        byte[] content = "image bytes".getBytes();
+        Path source = Files.write(tmp.resolve("source"), content);
+
+        storage.putMove("abc.jpg", source, "image/jpeg");
+
+        assertFalse(Files.exists(source));
+        try (InputStream in = storage.open("abc.jpg")) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        // No staging files left behind in the storage directory
+        try (var files = Files.list(storage.getRoot())) {
+            assertArrayEquals(new Object[] { storage.getRoot().resolve("abc.jpg") }, files.toArray());
+        }
+    }
+
+    @Test
+    void newStagingFile_ShouldBeOnTheStorageFilesystem() throws Exception {
+        Path staged = storage.newStagingFile();
+
+        assertEquals(storage.getRoot(), staged.getParent());
+        Files.write(staged, "image bytes".getBytes());
+        storage.putMove("abc.jpg", staged, "image/jpeg");
+        assertFalse(Files.exists(staged));
+        assertTrue(storage.exists("abc.jpg"));
+    }
+
+    @Test
+    void putMove_ShouldKeepExistingObject() throws Exception {
+        Path first = Files.write(tmp.resolve("first"), new byte[] { 1, 2, 3 });
+        storage.putMove("abc.jpg", first, "image/jpeg");
+        Path second = Files.write(tmp.resolve("second"), new byte[] { 1, 2, 3 });
+
+        storage.putMove("abc.jpg", second, "image/jpeg");
+
+        // Content-addressed: the existing object is left alone and the caller cleans up its source
+        assertTrue(Files.exists(second));
+        assertTrue(storage.exists("abc.jpg"));
+    }
+}
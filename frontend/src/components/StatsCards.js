@@ -3,15 +3,14 @@ import { Card, CardContent, CardHeader, CardTitle } from "./ui/card";
 import { Package, DollarSign, ShoppingCart, AlertTriangle } from "lucide-react";
 import { motion } from "framer-motion";
 
-export default function StatsCards({ sweets, purchases = [] }) {
-  const totalSweets = sweets.length;
-  const totalValue = sweets.reduce((sum, s) => sum + s.price * s.quantity, 0);
-  const totalPurchases = purchases.length;
-  const revenue = purchases.reduce((sum, p) => sum + p.totalPrice, 0);
-  const lowStock = sweets.filter(
-    (s) => s.quantity < 10 && s.quantity > 0
-  ).length;
-  const outOfStock = sweets.filter((s) => s.quantity === 0).length;
+export default function StatsCards({ stats: data }) {
+  // Payload of GET /api/admin/stats; render zeros until it arrives.
+  const totalSweets = data?.totalSweets ?? 0;
+  const totalValue = Number(data?.inventoryValue ?? 0);
+  const totalPurchases = data?.totalSales ?? 0;
+  const revenue = Number(data?.revenue ?? 0);
+  const lowStock = data?.lowStockCount ?? 0;
+  const outOfStock = data?.outOfStockCount ?? 0;
 
   const stats = [
     {
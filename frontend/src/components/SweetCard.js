@@ -46,7 +46,17 @@ export default function SweetCard({
         <div className="relative h-48 bg-gradient-to-br from-rose-50 to-amber-50 overflow-hidden">
           {sweet.imageUrl ? (
             <img
-              src={getImageUrl(sweet.imageUrl)}
+              src={getImageUrl(sweet.cardImageUrl || sweet.imageUrl)}
+              srcSet={
+                sweet.cardImageUrl
+                  ? `${getImageUrl(sweet.thumbnailUrl)} 160w, ${getImageUrl(
+                      sweet.cardImageUrl
+                    )} 480w, ${getImageUrl(sweet.detailImageUrl)} 1200w`
+                  : undefined
+              }
+              sizes="(min-width: 1024px) 25vw, (min-width: 640px) 50vw, 100vw"
+              loading="lazy"
+              decoding="async"
               alt={sweet.name}
               className="w-full h-full object-cover"
             />
@@ -205,6 +205,8 @@ export default function SweetForm({
                   type="number"
                   min="0"
                   required
+                  disabled={!!sweet}
+                  title={sweet ? "Use Restock to change stock" : undefined}
                   value={formData.quantity}
                   onChange={(e) =>
                     setFormData({ ...formData, quantity: e.target.value })
@@ -33,7 +33,7 @@ const AdminDashboard = () => {
   useEffect(() => {
     fetchSweets();
     if (user?.role === "ADMIN") {
-      fetchPurchases();
+      fetchStats();
     }
   }, [user]);
 
@@ -48,14 +48,15 @@ const AdminDashboard = () => {
     }
   };
 
-  const [purchases, setPurchases] = useState([]);
+  const [stats, setStats] = useState(null);
 
-  const fetchPurchases = async () => {
+  // Aggregates are computed server-side; refetch after any inventory change.
+  const fetchStats = async () => {
     try {
-      const response = await api.get("/purchases/all");
-      setPurchases(response.data);
+      const response = await api.get("/admin/stats");
+      setStats(response.data);
     } catch (error) {
-      console.error("Error fetching purchases", error);
+      console.error("Error fetching stats", error);
     }
   };
 
@@ -87,6 +88,7 @@ const AdminDashboard = () => {
           },
         });
         fetchSweets();
+        fetchStats();
         Swal.fire("Restocked!", "Stock has been updated.", "success");
       } catch (error) {
         Swal.fire(
@@ -102,7 +104,13 @@ const AdminDashboard = () => {
     setIsProcessingForm(true);
     try {
       const data = new FormData();
-      const { imageFile, ...sweetData } = formData;
+      const { imageFile, ...formFields } = formData;
+      // Stock is changed through Restock; the version lets the server reject
+      // edits made against an outdated copy of the sweet
+      const sweetData =
+        isEditing && editSweet
+          ? { ...formFields, quantity: undefined, version: editSweet.version }
+          : formFields;
 
       data.append(
         "sweet",
@@ -128,7 +136,21 @@ const AdminDashboard = () => {
       setEditSweet(null);
       setIsEditing(false);
       fetchSweets();
+      fetchStats();
     } catch (error) {
+      if (error.response?.status === 409) {
+        const current = error.response.data?.current;
+        if (current) {
+          setEditSweet(current);
+        }
+        Swal.fire(
+          "Changed elsewhere",
+          "This sweet was updated by someone else. The form now shows the latest details; review and save again.",
+          "warning"
+        );
+        fetchSweets();
+        return;
+      }
       Swal.fire(
         "Error",
         "Failed to save sweet: " +
@@ -155,6 +177,7 @@ const AdminDashboard = () => {
       try {
         await api.delete(`/sweets/${id}`);
         fetchSweets();
+        fetchStats();
         Swal.fire("Deleted!", "Sweet has been deleted.", "success");
       } catch (error) {
         Swal.fire("Error", "Failed to delete sweet", "error");
@@ -247,7 +270,7 @@ const AdminDashboard = () => {
 
         {user?.role === "ADMIN" && (
           <div className="mb-8">
-            <StatsCards sweets={sweets} purchases={purchases} />
+            <StatsCards stats={stats} />
           </div>
         )}
 
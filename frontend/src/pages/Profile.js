@@ -20,12 +20,17 @@ import {
 import { Link, useNavigate } from "react-router-dom";
 import { motion } from "framer-motion";
 
+const PAGE_SIZE = 20;
+
 export default function Profile() {
   const { user } = useAuth();
   const navigate = useNavigate();
   const [purchases, setPurchases] = useState([]);
   const [loading, setLoading] = useState(true);
   const [refreshing, setRefreshing] = useState(false);
+  const [summary, setSummary] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     if (!user) {
@@ -35,11 +40,17 @@ export default function Profile() {
     fetchPurchases();
   }, [user, navigate]);
 
+  // Totals come from a server-side aggregate; the list itself is paged.
   const fetchPurchases = async () => {
     setRefreshing(true);
     try {
-      const response = await api.get("/purchases/my");
-      setPurchases(response.data);
+      const [page, totals] = await Promise.all([
+        api.get("/purchases/my", { params: { size: PAGE_SIZE } }),
+        api.get("/purchases/my/summary"),
+      ]);
+      setPurchases(page.data.items);
+      setNextCursor(page.data.nextCursor);
+      setSummary(totals.data);
     } catch (error) {
       console.error("Error fetching purchases", error);
     } finally {
@@ -48,8 +59,25 @@ export default function Profile() {
     }
   };
 
-  const totalSpent = purchases.reduce((sum, p) => sum + p.totalPrice, 0);
-  const totalItems = purchases.reduce((sum, p) => sum + p.quantity, 0);
+  const handleLoadMore = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const response = await api.get("/purchases/my", {
+        params: { size: PAGE_SIZE, cursor: nextCursor },
+      });
+      setPurchases((prev) => [...prev, ...response.data.items]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error("Error fetching purchases", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  const totalPurchases = summary ? summary.purchaseCount : 0;
+  const totalSpent = summary ? Number(summary.totalSpent) : 0;
+  const totalItems = summary ? summary.itemCount : 0;
 
   if (!user) return null;
 
@@ -130,7 +158,7 @@ export default function Profile() {
                       Total Purchases
                     </p>
                     <p className="text-3xl font-bold text-gray-900">
-                      {purchases.length}
+                      {totalPurchases}
                     </p>
                   </div>
                   <div className="p-3 bg-gradient-to-br from-purple-100 to-purple-200 rounded-xl">
@@ -256,6 +284,17 @@ export default function Profile() {
                       </div>
                     </motion.div>
                   ))}
+                  {nextCursor && (
+                    <div className="flex justify-center pt-3">
+                      <Button
+                        variant="outline"
+                        onClick={handleLoadMore}
+                        disabled={loadingMore}
+                      >
+                        {loadingMore ? "Loading..." : "Load more"}
+                      </Button>
+                    </div>
+                  )}
                 </div>
               )}
             </CardContent>
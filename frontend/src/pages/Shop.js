@@ -12,6 +12,8 @@ import SweetCard from "../components/SweetCard";
 import SearchFilters from "../components/SearchFilters";
 import PurchaseModal from "../components/PurchaseModal";
 
+const PAGE_SIZE = 24;
+
 export default function Shop() {
   const { user, logout } = useAuth();
   const navigate = useNavigate();
@@ -26,14 +28,34 @@ export default function Shop() {
   const [isPurchasing, setIsPurchasing] = useState(false);
   const [isPurchaseModalOpen, setIsPurchaseModalOpen] = useState(false);
 
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+
+  // Filtering and pagination happen server-side; debounce so typing in the
+  // search box doesn't fire a request per keystroke.
   useEffect(() => {
-    fetchSweets();
-  }, []);
+    const timer = setTimeout(() => fetchSweets(), 250);
+    return () => clearTimeout(timer);
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [filters]);
 
-  const fetchSweets = async () => {
+  const buildParams = (cursor) => {
+    const params = { size: PAGE_SIZE };
+    if (filters.search.trim()) params.name = filters.search.trim();
+    if (filters.category !== "all") params.category = filters.category;
+    if (filters.maxPrice !== "all") params.maxPrice = filters.maxPrice;
+    if (cursor) params.cursor = cursor;
+    return params;
+  };
+
+  const fetchSweets = async (cursor = null) => {
     try {
-      const response = await api.get("/sweets");
-      setSweets(response.data);
+      const response = await api.get("/sweets/search", {
+        params: buildParams(cursor),
+      });
+      const { items, nextCursor: next } = response.data;
+      setSweets((prev) => (cursor ? [...prev, ...items] : items));
+      setNextCursor(next);
     } catch (error) {
       console.error("Error fetching sweets", error);
     } finally {
@@ -41,17 +63,12 @@ export default function Shop() {
     }
   };
 
-  const filteredSweets = sweets.filter((sweet) => {
-    const matchesSearch = sweet.name
-      .toLowerCase()
-      .includes(filters.search.toLowerCase());
-    const matchesCategory =
-      filters.category === "all" ||
-      sweet.category.toLowerCase() === filters.category.toLowerCase();
-    const matchesPrice =
-      filters.maxPrice === "all" || sweet.price <= parseFloat(filters.maxPrice);
-    return matchesSearch && matchesCategory && matchesPrice;
-  });
+  const handleLoadMore = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    await fetchSweets(nextCursor);
+    setLoadingMore(false);
+  };
 
   const handlePurchaseClick = (id) => {
     if (!user) {
@@ -193,7 +210,7 @@ export default function Shop() {
               />
             ))}
           </div>
-        ) : filteredSweets.length === 0 ? (
+        ) : sweets.length === 0 ? (
           <motion.div
             initial={{ opacity: 0 }}
             animate={{ opacity: 1 }}
@@ -208,7 +225,7 @@ export default function Shop() {
         ) : (
           <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-6">
             <AnimatePresence mode="popLayout">
-              {filteredSweets.map((sweet) => (
+              {sweets.map((sweet) => (
                 <SweetCard
                   key={sweet.id}
                   sweet={sweet}
@@ -219,6 +236,19 @@ export default function Shop() {
             </AnimatePresence>
           </div>
         )}
+
+        {!loading && nextCursor && (
+          <div className="flex justify-center mt-10">
+            <Button
+              variant="outline"
+              className="border-rose-200 hover:bg-rose-50"
+              onClick={handleLoadMore}
+              disabled={loadingMore}
+            >
+              {loadingMore ? "Loading..." : "Load more"}
+            </Button>
+          </div>
+        )}
       </main>
 
       {/* Purchase Modal */}